@@ -24,14 +24,17 @@ import ca.uhn.fhir.model.api.annotation.Child;
 import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseReference;
 
+import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class BaseRuntimeChildDefinition {
 
+	private final Map<Class<? extends IBase>, ChildNameAndDef> myDatatypeToChildNameAndDef = new ConcurrentHashMap<>();
 	private BaseRuntimeChildDefinition myReplacedParentDefinition;
 
 	public abstract IAccessor getAccessor();
@@ -44,6 +47,68 @@ public abstract class BaseRuntimeChildDefinition {
 
 	public abstract String getElementName();
 
+	/**
+	 * Returns the name (e.g. <code>valueQuantity</code> for <code>Observation.value</code>) and element
+	 * definition to use for a value of the given type in this child. This is resolved once per type
+	 * and then cached on this definition (and therefore on the owning {@link FhirContext}), since the
+	 * parsers need it for every value they encode.
+	 *
+	 * @return Returns <code>null</code> if the given type is not a valid type for this child
+	 */
+	public ChildNameAndDef getChildNameAndDefByDatatype(FhirContext theContext, Class<? extends IBase> theType) {
+		ChildNameAndDef retVal = myDatatypeToChildNameAndDef.get(theType);
+		if (retVal == null) {
+			retVal = resolveChildNameAndDef(theContext, theType);
+			if (retVal != null) {
+				myDatatypeToChildNameAndDef.put(theType, retVal);
+			}
+		}
+		return retVal;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ChildNameAndDef resolveChildNameAndDef(FhirContext theContext, Class<? extends IBase> theType) {
+		String childName = getChildNameByDatatype(theType);
+		BaseRuntimeElementDefinition<?> childDef = getChildElementDefinitionByDatatype(theType);
+		if (childDef == null) {
+
+			/*
+			 * For RI structures Enumeration class, this replaces the child def
+			 * with the "code" one. This is messy, and presumably there is a better
+			 * way..
+			 */
+			BaseRuntimeElementDefinition<?> elementDef = theContext.getElementDefinition(theType);
+			if (elementDef.getName().equals("code")) {
+				Class<? extends IBase> type2 =
+						theContext.getElementDefinition("code").getImplementingClass();
+				childDef = getChildElementDefinitionByDatatype(type2);
+				childName = getChildNameByDatatype(type2);
+			}
+
+			// See possibly the user has extended a built-in type without
+			// declaring it anywhere, as in XmlParserDstu3Test#testEncodeUndeclaredBlock
+			if (childDef == null) {
+				Class<?> nextSuperType = theType;
+				while (IBase.class.isAssignableFrom(nextSuperType) && childDef == null) {
+					if (Modifier.isAbstract(nextSuperType.getModifiers()) == false) {
+						BaseRuntimeElementDefinition<?> def =
+								theContext.getElementDefinition((Class<? extends IBase>) nextSuperType);
+						Class<?> nextChildType = def.getImplementingClass();
+						childDef = getChildElementDefinitionByDatatype((Class<? extends IBase>) nextChildType);
+						childName = getChildNameByDatatype((Class<? extends IBase>) nextChildType);
+					}
+					nextSuperType = nextSuperType.getSuperclass();
+				}
+			}
+
+			if (childDef == null) {
+				return null;
+			}
+		}
+
+		return new ChildNameAndDef(childName, childDef);
+	}
+
 	public String getExtensionUrl() {
 		return null;
 	}
@@ -122,4 +187,28 @@ public abstract class BaseRuntimeChildDefinition {
 	// public String getExtensionUrl() {
 	// return null;
 	// }
+
+	/**
+	 * The name and definition of the element to use for a given value of a child
+	 *
+	 * @see #getChildNameAndDefByDatatype(FhirContext, Class)
+	 */
+	public static class ChildNameAndDef {
+
+		private final BaseRuntimeElementDefinition<?> myChildDef;
+		private final String myChildName;
+
+		public ChildNameAndDef(String theChildName, BaseRuntimeElementDefinition<?> theChildDef) {
+			myChildName = theChildName;
+			myChildDef = theChildDef;
+		}
+
+		public BaseRuntimeElementDefinition<?> getChildDef() {
+			return myChildDef;
+		}
+
+		public String getChildName() {
+			return myChildName;
+		}
+	}
 }
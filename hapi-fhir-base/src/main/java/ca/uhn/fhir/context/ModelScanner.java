@@ -39,6 +39,7 @@ import ca.uhn.fhir.model.primitive.XhtmlDt;
 import ca.uhn.fhir.rest.api.RestSearchParameterTypeEnum;
 import ca.uhn.fhir.util.ReflectionUtil;
 import jakarta.annotation.Nonnull;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseBackboneElement;
 import org.hl7.fhir.instance.model.api.IBaseDatatype;
@@ -68,6 +69,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -136,7 +141,27 @@ class ModelScanner {
 		Set<Class<? extends IBase>> typesToScan = theTypesToScan;
 		myVersionTypes = scanVersionPropertyFile(typesToScan, resourceTypes, myVersion, myClassToElementDefinitions);
 
+		boolean parallelScanning =
+				myContext.getPerformanceOptions().contains(PerformanceOptionsEnum.PARALLEL_MODEL_SCANNING);
+		if (parallelScanning) {
+			// Standard types which are already defined come from an earlier scan of this context
+			for (Class<? extends IBaseResource> next : resourceTypes.values()) {
+				if (!myClassToElementDefinitions.containsKey(next)) {
+					typesToScan.add(next);
+				}
+			}
+		}
+
 		do {
+			if (parallelScanning) {
+				List<Class<? extends IBase>> typesToPreload = new ArrayList<>();
+				for (Class<? extends IBase> next : typesToScan) {
+					if (!myClassToElementDefinitions.containsKey(next)) {
+						typesToPreload.add(next);
+					}
+				}
+				preloadReflectionData(typesToPreload);
+			}
 			for (Class<? extends IBase> nextClass : typesToScan) {
 				scan(nextClass);
 			}
@@ -535,6 +560,65 @@ class ModelScanner {
 		return retVal;
 	}
 
+	/**
+	 * Loads the given model types and their nested block types, and reads their fields and
+	 * annotations on a dedicated pool, which is bounded by the number of processors and shut down
+	 * again afterwards. The JVM caches this reflection data per class, so the single threaded scan
+	 * which follows mostly hits warm caches. Any failure is left for that scan to report.
+	 */
+	private static void preloadReflectionData(Collection<Class<? extends IBase>> theTypes) {
+		int threadCount = Math.min(theTypes.size(), Runtime.getRuntime().availableProcessors());
+		if (threadCount <= 1) {
+			theTypes.forEach(ModelScanner::preloadReflectionData);
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		ExecutorService executor = Executors.newFixedThreadPool(
+				threadCount,
+				new BasicThreadFactory.Builder()
+						.namingPattern("hapi-fhir-model-preload-%d")
+						.daemon(true)
+						.build());
+		try {
+			List<Future<?>> futures = new ArrayList<>(theTypes.size());
+			for (Class<? extends IBase> next : theTypes) {
+				futures.add(executor.submit(() -> preloadReflectionData(next)));
+			}
+			for (Future<?> next : futures) {
+				next.get();
+			}
+		} catch (InterruptedException e) {
+			// Preloading is only an optimization, the scan does the real work
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			ourLog.debug("Failed to preload reflection data", e);
+		} finally {
+			executor.shutdownNow();
+		}
+		ourLog.debug(
+				"Preloaded reflection data for {} model types in {}ms",
+				theTypes.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	private static void preloadReflectionData(Class<?> theType) {
+		try {
+			for (Class<?> next = theType; next != null && !Object.class.equals(next); next = next.getSuperclass()) {
+				next.getAnnotations();
+				for (Field nextField : next.getDeclaredFields()) {
+					nextField.getAnnotations();
+					nextField.getGenericType();
+				}
+			}
+			for (Class<?> nextNested : theType.getDeclaredClasses()) {
+				preloadReflectionData(nextNested);
+			}
+		} catch (LinkageError | RuntimeException e) {
+			ourLog.debug("Failed to preload reflection data for {}", theType, e);
+		}
+	}
+
 	static Class<? extends Enum<?>> determineEnumTypeForBoundField(Field next) {
 		@SuppressWarnings("unchecked")
 		Class<? extends Enum<?>> enumType =
@@ -46,6 +46,7 @@ public class ParserOptions {
 	private boolean myAutoContainReferenceTargetsWithNoId = true;
 	private Set<String> myEncodeElementsForSummaryMode = null;
 	private Set<String> myDontEncodeElementsForSummaryMode = null;
+	private boolean myJsonStreamingParsingEnabled = false;
 
 	/**
 	 * If set to {@literal true} (which is the default), contained resources may be specified by
@@ -324,4 +325,39 @@ public class ParserOptions {
 	public Set<String> getDontEncodeElementsForSummaryMode() {
 		return myDontEncodeElementsForSummaryMode;
 	}
+
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), the JSON parser will build the
+	 * resource model directly from the token stream of the source document instead of first
+	 * loading the complete document into an intermediate JSON tree. This substantially reduces
+	 * peak memory use when parsing large resources such as transaction Bundles, since only small
+	 * fragments (primitive values, extensions and resources whose <code>resourceType</code> is not
+	 * the first property) are ever buffered.
+	 * <p>
+	 * This setting has no effect on encoding, or on parsers other than the JSON parser.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isJsonStreamingParsingEnabled() {
+		return myJsonStreamingParsingEnabled;
+	}
+
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), the JSON parser will build the
+	 * resource model directly from the token stream of the source document instead of first
+	 * loading the complete document into an intermediate JSON tree. This substantially reduces
+	 * peak memory use when parsing large resources such as transaction Bundles, since only small
+	 * fragments (primitive values, extensions and resources whose <code>resourceType</code> is not
+	 * the first property) are ever buffered.
+	 * <p>
+	 * This setting has no effect on encoding, or on parsers other than the JSON parser.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public ParserOptions setJsonStreamingParsingEnabled(boolean theJsonStreamingParsingEnabled) {
+		myJsonStreamingParsingEnabled = theJsonStreamingParsingEnabled;
+		return this;
+	}
 }
@@ -34,5 +34,22 @@ public enum PerformanceOptionsEnum {
 	 * Android or low powered devices.
 	 * </p>
 	 */
-	DEFERRED_MODEL_SCANNING
+	DEFERRED_MODEL_SCANNING,
+
+	/**
+	 * When this option is set, every resource type provided by the structures module
+	 * is scanned when the context is first initialized, instead of one type at a time
+	 * the first time each type is used.
+	 * <p>
+	 * Before the model is built, the model classes and their nested block types are
+	 * loaded and their fields and annotations are read in parallel on a dedicated
+	 * short lived pool. The JVM caches this reflection data, so building the model
+	 * itself is then much cheaper. This option is useful for short lived processes and
+	 * servers which want to pay the model scanning cost up front, using all available
+	 * cores, rather than during their first requests.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	PARALLEL_MODEL_SCANNING
 }
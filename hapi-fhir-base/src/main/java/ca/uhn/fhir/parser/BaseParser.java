@@ -20,6 +20,7 @@
 package ca.uhn.fhir.parser;
 
 import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition.ChildNameAndDef;
 import ca.uhn.fhir.context.BaseRuntimeDeclaredChildDefinition;
 import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
 import ca.uhn.fhir.context.BaseRuntimeElementDefinition;
@@ -78,10 +79,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -113,6 +116,7 @@ public abstract class BaseParser implements IParser {
 	private IIdType myEncodeForceResourceId;
 	private IParserErrorHandler myErrorHandler;
 	private boolean myOmitResourceId;
+	private Set<String> myParseElements;
 	private List<Class<? extends IBaseResource>> myPreferTypes;
 	private String myServerBaseUrl;
 	private Boolean myStripVersionsFromReferences;
@@ -345,51 +349,13 @@ public abstract class BaseParser implements IParser {
 		return retVal;
 	}
 
-	@SuppressWarnings("unchecked")
 	ChildNameAndDef getChildNameAndDef(BaseRuntimeChildDefinition theChild, IBase theValue) {
 		Class<? extends IBase> type = theValue.getClass();
-		String childName = theChild.getChildNameByDatatype(type);
-		BaseRuntimeElementDefinition<?> childDef = theChild.getChildElementDefinitionByDatatype(type);
-		if (childDef == null) {
-			// if (theValue instanceof IBaseExtension) {
-			// return null;
-			// }
-
-			/*
-			 * For RI structures Enumeration class, this replaces the child def
-			 * with the "code" one. This is messy, and presumably there is a better
-			 * way..
-			 */
-			BaseRuntimeElementDefinition<?> elementDef = myContext.getElementDefinition(type);
-			if (elementDef.getName().equals("code")) {
-				Class<? extends IBase> type2 =
-						myContext.getElementDefinition("code").getImplementingClass();
-				childDef = theChild.getChildElementDefinitionByDatatype(type2);
-				childName = theChild.getChildNameByDatatype(type2);
-			}
-
-			// See possibly the user has extended a built-in type without
-			// declaring it anywhere, as in XmlParserDstu3Test#testEncodeUndeclaredBlock
-			if (childDef == null) {
-				Class<?> nextSuperType = theValue.getClass();
-				while (IBase.class.isAssignableFrom(nextSuperType) && childDef == null) {
-					if (Modifier.isAbstract(nextSuperType.getModifiers()) == false) {
-						BaseRuntimeElementDefinition<?> def =
-								myContext.getElementDefinition((Class<? extends IBase>) nextSuperType);
-						Class<?> nextChildType = def.getImplementingClass();
-						childDef = theChild.getChildElementDefinitionByDatatype((Class<? extends IBase>) nextChildType);
-						childName = theChild.getChildNameByDatatype((Class<? extends IBase>) nextChildType);
-					}
-					nextSuperType = nextSuperType.getSuperclass();
-				}
-			}
-
-			if (childDef == null) {
-				throwExceptionForUnknownChildType(theChild, type);
-			}
+		ChildNameAndDef retVal = theChild.getChildNameAndDefByDatatype(myContext, type);
+		if (retVal == null) {
+			throwExceptionForUnknownChildType(theChild, type);
 		}
-
-		return new ChildNameAndDef(childName, childDef);
+		return retVal;
 	}
 
 	protected String getCompositeElementId(IBase theElement) {
@@ -428,6 +394,34 @@ public abstract class BaseParser implements IParser {
 		return myErrorHandler;
 	}
 
+	/**
+	 * Copies the configuration of this parser (error handler, and parsing and encoding options) to another
+	 * parser, for use by parsers which delegate the work for individual resources to other parsers. The
+	 * forced resource ID and pretty print settings only apply to the outermost resource, so they are not copied.
+	 *
+	 * @since 7.8.0
+	 */
+	@SuppressWarnings("unchecked")
+	protected void copyConfigurationTo(IParser theTarget) {
+		if (myErrorHandler != null) {
+			theTarget.setParserErrorHandler(myErrorHandler);
+		}
+		theTarget.setDontEncodeElements(myDontEncodeElements);
+		theTarget.setEncodeElements((Set<String>) myEncodeElements);
+		theTarget.setEncodeElementsAppliesToChildResourcesOnly(myEncodeElementsAppliesToChildResourcesOnly);
+		theTarget.setOmitResourceId(myOmitResourceId);
+		theTarget.setParseElements(myParseElements);
+		theTarget.setPreferTypes(myPreferTypes);
+		theTarget.setServerBaseUrl(myServerBaseUrl);
+		theTarget.setStripVersionsFromReferences(myStripVersionsFromReferences);
+		theTarget.setOverrideResourceIdWithBundleEntryFullUrl(myOverrideResourceIdWithBundleEntryFullUrl);
+		theTarget.setSummaryMode(mySummaryMode);
+		theTarget.setSuppressNarratives(mySuppressNarratives);
+		if (myDontStripVersionsFromReferencesAtPaths != null) {
+			theTarget.setDontStripVersionsFromReferencesAtPaths(myDontStripVersionsFromReferencesAtPaths);
+		}
+	}
+
 	protected List<Map.Entry<ResourceMetadataKeyEnum<?>, Object>> getExtensionMetadataKeys(IResource resource) {
 		List<Map.Entry<ResourceMetadataKeyEnum<?>, Object>> extensionMetadataKeys = new ArrayList<>();
 		for (Map.Entry<ResourceMetadataKeyEnum<?>, Object> entry :
@@ -605,6 +599,69 @@ public abstract class BaseParser implements IParser {
 				|| !theCompositeChildElement.anyPathMatches(dontStripVersionsFromReferencesAtPaths);
 	}
 
+	@Override
+	public IParser setParseElements(@Nullable Set<String> theParseElements) {
+		myParseElements = theParseElements;
+		return this;
+	}
+
+	@Nullable
+	@Override
+	public Set<String> getParseElements() {
+		return myParseElements;
+	}
+
+	/**
+	 * Creates a filter for the names of the top level elements of a resource being parsed,
+	 * according to {@link #setParseElements(Set)}.
+	 *
+	 * @param theResourceType The resource type being parsed
+	 * @return A predicate which accepts the (JSON property or XML element) names that should be
+	 * 	parsed, or <code>null</code> if everything should be parsed
+	 */
+	@Nullable
+	protected Predicate<String> newParseElementsFilter(String theResourceType) {
+		if (myParseElements == null || myParseElements.isEmpty()) {
+			return null;
+		}
+
+		RuntimeResourceDefinition def;
+		try {
+			def = myContext.getResourceDefinition(theResourceType);
+		} catch (DataFormatException e) {
+			// Unknown resource types are reported by the parser state
+			return null;
+		}
+
+		Set<String> elementNames = new HashSet<>();
+		elementNames.add("id");
+		elementNames.add("meta");
+		for (String next : myParseElements) {
+			String elementName = next;
+			int dotIdx = elementName.indexOf('.');
+			if (dotIdx != -1) {
+				String resourceType = elementName.substring(0, dotIdx);
+				if (!"*".equals(resourceType) && !resourceType.equals(def.getName())) {
+					continue;
+				}
+				elementName = elementName.substring(dotIdx + 1);
+				dotIdx = elementName.indexOf('.');
+				if (dotIdx != -1) {
+					elementName = elementName.substring(0, dotIdx);
+				}
+			}
+			elementNames.add(elementName);
+		}
+
+		return theName -> {
+			if (elementNames.contains(theName)) {
+				return true;
+			}
+			BaseRuntimeChildDefinition child = def.getChildByName(theName);
+			return child != null && elementNames.contains(child.getElementName());
+		};
+	}
+
 	@Override
 	public boolean isSummaryMode() {
 		return mySummaryMode;
@@ -648,51 +705,100 @@ public abstract class BaseParser implements IParser {
 
 		RuntimeResourceDefinition def = myContext.getResourceDefinition(retVal);
 		if ("Bundle".equals(def.getName())) {
+			overrideResourceIdsWithBundleEntryFullUrls((IBaseBundle) retVal);
+		}
 
-			if (isOverrideResourceIdWithBundleEntryFullUrl()) {
-				BundleUtil.processEntries(myContext, (IBaseBundle) retVal, t -> {
-					String fullUrl = t.getFullUrl();
-					if (fullUrl != null) {
-						IBaseResource resource = t.getResource();
-						if (resource != null) {
-							IIdType resourceId = resource.getIdElement();
-							if (isBlank(resourceId.getValue())) {
-								resourceId.setValue(fullUrl);
-							} else {
-								if (fullUrl.startsWith("urn:")
-										&& fullUrl.length()
-												> resourceId.getIdPart().length()
-										&& fullUrl.charAt(fullUrl.length()
-														- resourceId.getIdPart().length()
-														- 1)
-												== ':'
-										&& fullUrl.endsWith(resourceId.getIdPart())) {
-									resourceId.setValue(fullUrl);
-								} else {
-									IIdType fullUrlId = myContext.getVersion().newIdType();
-									fullUrlId.setValue(fullUrl);
-									if (myContext.getVersion().getVersion().isOlderThan(FhirVersionEnum.DSTU3)) {
-										IIdType newId = fullUrlId;
-										if (!newId.hasVersionIdPart() && resourceId.hasVersionIdPart()) {
-											newId = newId.withVersion(resourceId.getVersionIdPart());
-										}
-										resourceId.setValue(newId.getValue());
-									} else if (StringUtils.equals(fullUrlId.getIdPart(), resourceId.getIdPart())) {
-										if (fullUrlId.hasBaseUrl()) {
-											IIdType newResourceId = resourceId.withServerBase(
-													fullUrlId.getBaseUrl(), resourceId.getResourceType());
-											resourceId.setValue(newResourceId.getValue());
-										}
-									}
+		return retVal;
+	}
+
+	private void overrideResourceIdsWithBundleEntryFullUrls(IBaseBundle theBundle) {
+		if (!isOverrideResourceIdWithBundleEntryFullUrl()) {
+			return;
+		}
+
+		BundleUtil.processEntries(myContext, theBundle, t -> {
+			String fullUrl = t.getFullUrl();
+			if (fullUrl != null) {
+				IBaseResource resource = t.getResource();
+				if (resource != null) {
+					IIdType resourceId = resource.getIdElement();
+					if (isBlank(resourceId.getValue())) {
+						resourceId.setValue(fullUrl);
+					} else {
+						if (fullUrl.startsWith("urn:")
+								&& fullUrl.length() > resourceId.getIdPart().length()
+								&& fullUrl.charAt(fullUrl.length()
+												- resourceId.getIdPart().length()
+												- 1)
+										== ':'
+								&& fullUrl.endsWith(resourceId.getIdPart())) {
+							resourceId.setValue(fullUrl);
+						} else {
+							IIdType fullUrlId = myContext.getVersion().newIdType();
+							fullUrlId.setValue(fullUrl);
+							if (myContext.getVersion().getVersion().isOlderThan(FhirVersionEnum.DSTU3)) {
+								IIdType newId = fullUrlId;
+								if (!newId.hasVersionIdPart() && resourceId.hasVersionIdPart()) {
+									newId = newId.withVersion(resourceId.getVersionIdPart());
+								}
+								resourceId.setValue(newId.getValue());
+							} else if (StringUtils.equals(fullUrlId.getIdPart(), resourceId.getIdPart())) {
+								if (fullUrlId.hasBaseUrl()) {
+									IIdType newResourceId = resourceId.withServerBase(
+											fullUrlId.getBaseUrl(), resourceId.getResourceType());
+									resourceId.setValue(newResourceId.getValue());
 								}
 							}
 						}
 					}
-				});
+				}
 			}
-		}
+		});
+	}
 
-		return retVal;
+	@Override
+	public Iterator<IBase> parseBundleEntries(InputStream theInputStream) throws DataFormatException {
+		return parseBundleEntries(new InputStreamReader(theInputStream, Constants.CHARSET_UTF8));
+	}
+
+	@Override
+	public Iterator<IBase> parseBundleEntries(Reader theReader) throws DataFormatException {
+		BaseRuntimeChildDefinition entryChild =
+				myContext.getResourceDefinition("Bundle").getChildByName("entry");
+		Iterator<IBaseBundle> entryBundles = doParseBundleEntries(theReader);
+		if (entryBundles == null) {
+			return IParser.super.parseBundleEntries(theReader);
+		}
+
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return entryBundles.hasNext();
+			}
+
+			@Override
+			public IBase next() {
+				IBaseBundle entryBundle = entryBundles.next();
+				overrideResourceIdsWithBundleEntryFullUrls(entryBundle);
+				return entryChild
+						.getAccessor()
+						.getFirstValueOrNull(entryBundle)
+						.orElseThrow(() -> new InternalErrorException(Msg.code(2782) + "No entry was parsed"));
+			}
+		};
+	}
+
+	/**
+	 * Subclasses which support {@link #parseBundleEntries(Reader)} should override this method. It should
+	 * return an iterator of Bundles, each containing exactly one entry from the source Bundle (in the
+	 * order they appear in the source), and each parsed lazily when requested.
+	 *
+	 * @return Returns <code>null</code> if this parser can't stream Bundle entries, in which case the
+	 * complete Bundle is parsed and its entries are iterated over
+	 */
+	@Nullable
+	protected Iterator<IBaseBundle> doParseBundleEntries(Reader theReader) throws DataFormatException {
+		return null;
 	}
 
 	@SuppressWarnings("cast")
@@ -1006,25 +1112,6 @@ public abstract class BaseParser implements IParser {
 		myContainedResources = getContext().newTerser().containResources(theResource);
 	}
 
-	static class ChildNameAndDef {
-
-		private final BaseRuntimeElementDefinition<?> myChildDef;
-		private final String myChildName;
-
-		public ChildNameAndDef(String theChildName, BaseRuntimeElementDefinition<?> theChildDef) {
-			myChildName = theChildName;
-			myChildDef = theChildDef;
-		}
-
-		public BaseRuntimeElementDefinition<?> getChildDef() {
-			return myChildDef;
-		}
-
-		public String getChildName() {
-			return myChildName;
-		}
-	}
-
 	/**
 	 * EncodeContext is a shared state object that is passed around the
 	 * encode process
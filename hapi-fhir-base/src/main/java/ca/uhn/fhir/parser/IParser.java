@@ -22,6 +22,7 @@ package ca.uhn.fhir.parser;
 import ca.uhn.fhir.context.ConfigurationException;
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.context.ParserOptions;
+import ca.uhn.fhir.i18n.Msg;
 import ca.uhn.fhir.model.api.IResource;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import ca.uhn.fhir.util.CollectionUtil;
@@ -29,6 +30,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.hl7.fhir.instance.model.api.IAnyResource;
 import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 
@@ -37,6 +39,8 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -231,6 +235,98 @@ public interface IParser {
 	 */
 	IParser setSummaryMode(boolean theSummaryMode);
 
+	/**
+	 * If provided, specifies the top level elements of the resource being parsed which should be
+	 * populated. All other elements are skipped over without being materialized, which saves time and
+	 * memory on read paths that only need a small part of a large resource (e.g. when applying
+	 * <code>_elements</code>). Valid values for this field would include:
+	 * <ul>
+	 * <li><b>name</b> - Parse the name of any resource type</li>
+	 * <li><b>Patient.name</b> - Parse the name of a Patient. Deeper paths such as <b>Patient.name.family</b>
+	 * cause the whole top level element (in this case <code>Patient.name</code>) to be parsed.</li>
+	 * <li><b>*.text</b> - Parse the text element of any resource type</li>
+	 * <li><b>value</b> - Choice elements are specified using their base name, and match any type</li>
+	 * </ul>
+	 * <p>
+	 * The <code>id</code> and <code>meta</code> elements are always parsed. The filter applies only to the
+	 * root resource being parsed, so any contained resources (or Bundle entries) that are parsed are
+	 * populated fully.
+	 * </p>
+	 * <p>
+	 * This is only an optimization, so parsers which don't support it ignore this setting and
+	 * parse all elements.
+	 * </p>
+	 *
+	 * @param theParseElements The elements to parse, or <code>null</code> (the default) or an empty set to parse
+	 *                         all elements
+	 * @return Returns a reference to <code>this</code> parser so that method calls can be chained together
+	 * @since 7.8.0
+	 */
+	default IParser setParseElements(@Nullable Set<String> theParseElements) {
+		return this;
+	}
+
+	/**
+	 * @see #setParseElements(Set)
+	 * @since 7.8.0
+	 */
+	@Nullable
+	default Set<String> getParseElements() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Parses the entries of a Bundle one at a time. Each entry (<code>Bundle.entry</code>, including
+	 * the resource and any request/response details) is only parsed when it is requested from the
+	 * returned iterator, so arbitrarily large Bundles can be processed without holding the whole
+	 * Bundle in memory. Elements of the Bundle other than its entries are skipped.
+	 * <p>
+	 * Bundle.entry.fullUrl is applied to the resource ID of each entry in the same way as it is when
+	 * parsing a complete Bundle (see {@link #setOverrideResourceIdWithBundleEntryFullUrl(Boolean)}).
+	 * </p>
+	 * <p>
+	 * Parsers which are not able to stream Bundle entries (by default, any parser other than the JSON,
+	 * XML and NDJSON parsers) parse the complete Bundle first and then iterate over its entries.
+	 * </p>
+	 *
+	 * @param theReader The reader to parse input from. Note that the Reader will not be closed by the parser, and must not be
+	 *                  closed by the caller until iteration has finished.
+	 * @return An iterator over the <code>Bundle.entry</code> elements (instances of the version specific entry class)
+	 * @throws DataFormatException If the content is not a Bundle, or an entry can not be parsed. Note that errors
+	 *                             may be thrown while iterating.
+	 * @since 7.8.0
+	 */
+	default Iterator<IBase> parseBundleEntries(Reader theReader) throws DataFormatException {
+		// Parsers which can't stream the entries fall back to parsing the whole Bundle
+		return iterateBundleEntries(parseResource(theReader));
+	}
+
+	/**
+	 * Parses the entries of a Bundle one at a time.
+	 *
+	 * @param theInputStream The InputStream to parse input from, <b>with an implied charset of UTF-8</b>. Note that the
+	 *                       InputStream will not be closed by the parser, and must not be closed by the caller until
+	 *                       iteration has finished.
+	 * @see #parseBundleEntries(Reader)
+	 * @since 7.8.0
+	 */
+	default Iterator<IBase> parseBundleEntries(InputStream theInputStream) throws DataFormatException {
+		return iterateBundleEntries(parseResource(theInputStream));
+	}
+
+	private static Iterator<IBase> iterateBundleEntries(IBaseResource theResource) {
+		if (!(theResource instanceof IBaseBundle)) {
+			throw new DataFormatException(
+					Msg.code(2801) + "Content is not a Bundle, found resourceType: " + theResource.fhirType());
+		}
+		FhirContext ctx = FhirContext.forCached(theResource.getStructureFhirVersionEnum());
+		return ctx.getResourceDefinition(theResource)
+				.getChildByName("entry")
+				.getAccessor()
+				.getValues(theResource)
+				.iterator();
+	}
+
 	/**
 	 * Parses a resource
 	 *
@@ -20,6 +20,7 @@
 package ca.uhn.fhir.parser;
 
 import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition.ChildNameAndDef;
 import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
 import ca.uhn.fhir.context.BaseRuntimeElementDefinition;
 import ca.uhn.fhir.context.BaseRuntimeElementDefinition.ChildTypeEnum;
@@ -51,14 +52,18 @@ import ca.uhn.fhir.parser.json.BaseJsonLikeValue.ScalarType;
 import ca.uhn.fhir.parser.json.BaseJsonLikeValue.ValueType;
 import ca.uhn.fhir.parser.json.BaseJsonLikeWriter;
 import ca.uhn.fhir.parser.json.JsonLikeStructure;
+import ca.uhn.fhir.parser.json.jackson.JacksonStreamingReader;
 import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import ca.uhn.fhir.util.ElementUtil;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.text.WordUtils;
 import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseBooleanDatatype;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseDecimalDatatype;
 import org.hl7.fhir.instance.model.api.IBaseExtension;
 import org.hl7.fhir.instance.model.api.IBaseHasExtensions;
@@ -73,12 +78,15 @@ import org.hl7.fhir.instance.model.api.IPrimitiveType;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static ca.uhn.fhir.context.BaseRuntimeElementDefinition.ChildTypeEnum.ID_DATATYPE;
 import static ca.uhn.fhir.context.BaseRuntimeElementDefinition.ChildTypeEnum.PRIMITIVE_DATATYPE;
@@ -236,6 +244,10 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 
 	@Override
 	public <T extends IBaseResource> T doParseResource(Class<T> theResourceType, Reader theReader) {
+		if (getContext().getParserOptions().isJsonStreamingParsingEnabled()) {
+			return doParseResourceStreaming(theResourceType, theReader);
+		}
+
 		JsonLikeStructure jsonStructure = new JacksonStructure();
 		jsonStructure.load(theReader);
 
@@ -259,7 +271,7 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 				ParserState.getPreResourceInstance(this, theResourceType, getContext(), true, getErrorHandler());
 		state.enteringNewElement(null, resourceType);
 
-		parseChildren(object, state);
+		parseChildren(object, state, newParseElementsFilter(resourceType));
 
 		state.endingElement();
 		state.endingElement();
@@ -334,19 +346,11 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 						theEventWriter.write(((IBaseIntegerDatatype) value).getValue());
 					}
 				} else if (value instanceof IBaseDecimalDatatype) {
-					BigDecimal decimalValue = ((IBaseDecimalDatatype) value).getValue();
-					decimalValue = new BigDecimal(decimalValue.toString()) {
-						private static final long serialVersionUID = 1L;
-
-						@Override
-						public String toString() {
-							return value.getValueAsString();
-						}
-					};
+					// Write the original text so that the precision of the decimal is preserved
 					if (theChildName != null) {
-						write(theEventWriter, theChildName, decimalValue);
+						theEventWriter.writeNumber(theChildName, valueStr);
 					} else {
-						theEventWriter.write(decimalValue);
+						theEventWriter.writeNumber(valueStr);
 					}
 				} else if (value instanceof IBaseBooleanDatatype) {
 					if (theChildName != null) {
@@ -562,7 +566,7 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 					}
 				}
 
-				BaseParser.ChildNameAndDef childNameAndDef = super.getChildNameAndDef(nextChild, nextValue);
+				ChildNameAndDef childNameAndDef = super.getChildNameAndDef(nextChild, nextValue);
 				if (childNameAndDef == null) {
 					continue;
 				}
@@ -1306,11 +1310,22 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 	}
 
 	private void parseChildren(BaseJsonLikeObject theObject, ParserState<?> theState) {
+		parseChildren(theObject, theState, null);
+	}
+
+	/**
+	 * @param theElementFilter If not <code>null</code>, only children whose names are accepted by this filter are parsed
+	 */
+	private void parseChildren(
+			BaseJsonLikeObject theObject, ParserState<?> theState, @Nullable Predicate<String> theElementFilter) {
 		int allUnderscoreNames = 0;
 		int handledUnderscoreNames = 0;
 
 		for (Iterator<String> keyIter = theObject.keyIterator(); keyIter.hasNext(); ) {
 			String nextName = keyIter.next();
+			if (theElementFilter != null && !isParseElement(theElementFilter, nextName)) {
+				continue;
+			}
 			if ("resourceType".equals(nextName)) {
 				if (theState.isToplevelResourceElement()) {
 					continue;
@@ -1465,6 +1480,215 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		}
 	}
 
+	/**
+	 * Parses a resource directly from the JSON token stream without first loading the
+	 * document into a {@link JsonLikeStructure}.
+	 *
+	 * @see ca.uhn.fhir.context.ParserOptions#setJsonStreamingParsingEnabled(boolean)
+	 */
+	private <T extends IBaseResource> T doParseResourceStreaming(Class<T> theResourceType, Reader theReader) {
+		try (JacksonStreamingReader reader = new JacksonStreamingReader(theReader)) {
+			JsonToken firstToken = reader.nextToken();
+			if (firstToken == null) {
+				throw new DataFormatException(Msg.code(2776) + "Did not find any content to parse");
+			}
+			if (firstToken != JsonToken.START_OBJECT) {
+				throw new DataFormatException(Msg.code(2777)
+						+ "Content does not appear to be FHIR JSON, first token was: '" + reader.getText()
+						+ "' (must be '{')");
+			}
+
+			ParserState<? extends IBaseResource> state =
+					ParserState.getPreResourceInstance(this, theResourceType, getContext(), true, getErrorHandler());
+			streamResource(reader, state, true);
+			state.endingElement();
+
+			if (reader.nextToken() != null) {
+				throw new DataFormatException(
+						Msg.code(2778) + "Failed to parse JSON encoded FHIR content: Unexpected content after end of resource");
+			}
+
+			@SuppressWarnings("unchecked")
+			T retVal = (T) state.getObject();
+			return retVal;
+		}
+	}
+
+	private static boolean isParseElement(Predicate<String> theElementFilter, String theName) {
+		if ("resourceType".equals(theName) || "fhir_comments".equals(theName)) {
+			return true;
+		}
+		if (theName.length() > 1 && theName.charAt(0) == '_') {
+			return theElementFilter.test(theName.substring(1));
+		}
+		return theElementFilter.test(theName);
+	}
+
+	@Override
+	protected Iterator<IBaseBundle> doParseBundleEntries(Reader theReader) {
+		return new JsonBundleEntryIterator(theReader);
+	}
+
+	/**
+	 * Streams a resource object. The reader must be positioned on the opening <code>{</code> of the
+	 * resource, and is left on the closing <code>}</code>.
+	 * <p>
+	 * The resource type must be known before any of the children can be processed. In the (very common)
+	 * case where <code>resourceType</code> is the first property this is free, otherwise the remainder of
+	 * the resource object is buffered and handled using the tree based logic.
+	 * </p>
+	 */
+	private void streamResource(JacksonStreamingReader theReader, ParserState<?> theState, boolean theTopLevel) {
+		String firstName = theReader.nextFieldName();
+		if ("resourceType".equals(firstName)) {
+			if (theReader.nextToken() == JsonToken.VALUE_STRING && isNotBlank(theReader.getText())) {
+				String resourceType = theReader.getText();
+				theState.enteringNewElement(null, resourceType);
+				streamChildren(theReader, theState, theTopLevel ? newParseElementsFilter(resourceType) : null);
+				theState.endingElement();
+				return;
+			}
+		} else if (firstName != null) {
+			BaseJsonLikeObject object = theReader.readObjectRemainder();
+			BaseJsonLikeValue resourceTypeObj = object.get("resourceType");
+			if (resourceTypeObj != null && resourceTypeObj.isString() && isNotBlank(resourceTypeObj.getAsString())) {
+				String resourceType = resourceTypeObj.getAsString();
+				theState.enteringNewElement(null, resourceType);
+				parseChildren(object, theState, theTopLevel ? newParseElementsFilter(resourceType) : null);
+				theState.endingElement();
+				return;
+			}
+		}
+
+		if (theTopLevel) {
+			throw new DataFormatException(
+					Msg.code(2779) + "Invalid JSON content detected, missing required element: 'resourceType'");
+		}
+		throw new DataFormatException(
+				Msg.code(2780) + "Missing required element 'resourceType' from JSON resource object, unable to parse");
+	}
+
+	/**
+	 * Streams the children of the object the reader is currently positioned in, leaving the
+	 * reader on the closing <code>}</code> of that object.
+	 * <p>
+	 * Complex elements (including contained resources and Bundle entries) are streamed into the
+	 * parser state as they are encountered. Everything else (primitive values and their
+	 * <code>_name</code> alternates, extensions, comments) is small, may need to be paired up with
+	 * a sibling that appears later in the object, and is therefore buffered and handed to the tree
+	 * based logic once the end of the object is reached.
+	 * </p>
+	 */
+	private void streamChildren(JacksonStreamingReader theReader, ParserState<?> theState) {
+		streamChildren(theReader, theState, null);
+	}
+
+	/**
+	 * @param theElementFilter If not <code>null</code>, only children whose names are accepted by this filter
+	 *                         are parsed. Other children are skipped without being buffered.
+	 */
+	private void streamChildren(
+			JacksonStreamingReader theReader, ParserState<?> theState, @Nullable Predicate<String> theElementFilter) {
+		JacksonStreamingReader.BufferedObject buffered = theReader.newBufferedObject();
+		Set<String> streamedNames = null;
+
+		for (String nextName = theReader.nextFieldName(); nextName != null; nextName = theReader.nextFieldName()) {
+			JsonToken token = theReader.nextToken();
+			if (theElementFilter != null && !isParseElement(theElementFilter, nextName)) {
+				theReader.skipCurrentValue();
+				continue;
+			}
+
+			boolean streamable = (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)
+					&& nextName.charAt(0) != '_'
+					&& !"id".equals(nextName)
+					&& !"extension".equals(nextName)
+					&& !"modifierExtension".equals(nextName)
+					&& !"fhir_comments".equals(nextName);
+
+			if (!streamable) {
+				if (nextName.length() > 1
+						&& nextName.charAt(0) == '_'
+						&& streamedNames != null
+						&& streamedNames.contains(nextName.substring(1))) {
+					// Alternates are only meaningful for primitives, which are never streamed
+					theReader.readCurrentValue();
+					continue;
+				}
+				buffered.bufferCurrentValue(nextName);
+				continue;
+			}
+
+			if (token == JsonToken.START_OBJECT) {
+				BaseJsonLikeValue alternateVal = buffered.remove('_' + nextName);
+				streamObject(theReader, theState, nextName, alternateVal, false);
+			} else if (!streamArray(theReader, theState, nextName)) {
+				buffered.bufferArrayRemainder(nextName);
+				continue;
+			}
+
+			if (streamedNames == null) {
+				streamedNames = new HashSet<>();
+			}
+			streamedNames.add(nextName);
+		}
+
+		if (!buffered.isEmpty()) {
+			parseChildren(buffered.asObject(), theState);
+		}
+	}
+
+	/**
+	 * Streams a complex element. The reader must be positioned on the opening <code>{</code>
+	 * of the element, and is left on the closing <code>}</code>.
+	 */
+	private void streamObject(
+			JacksonStreamingReader theReader,
+			ParserState<?> theState,
+			String theName,
+			BaseJsonLikeValue theAlternateVal,
+			boolean theInArray) {
+		if (!theInArray && theState.elementIsRepeating(theName)) {
+			getErrorHandler().incorrectJsonType(null, theName, ValueType.ARRAY, null, ValueType.OBJECT, null);
+		}
+
+		String alternateName = '_' + theName;
+		theState.enteringNewElement(null, theName);
+		parseAlternates(theAlternateVal, theState, alternateName, alternateName);
+		if (theState.isPreResource()) {
+			streamResource(theReader, theState, false);
+		} else {
+			streamChildren(theReader, theState);
+		}
+		theState.endingElement();
+	}
+
+	/**
+	 * Streams an array whose first entry is an object, leaving the reader on the closing <code>]</code>.
+	 * The reader must be positioned on the opening <code>[</code>.
+	 *
+	 * @return Returns <code>false</code> if the array does not start with an object (e.g. it is an
+	 * array of primitives). In this case the reader is left positioned on the first entry so
+	 * that the remainder of the array can be buffered.
+	 */
+	private boolean streamArray(JacksonStreamingReader theReader, ParserState<?> theState, String theName) {
+		JsonToken token = theReader.nextToken();
+		if (token != JsonToken.START_OBJECT) {
+			return false;
+		}
+
+		String alternateName = '_' + theName;
+		while (token != JsonToken.END_ARRAY) {
+			if (token == JsonToken.START_OBJECT) {
+				streamObject(theReader, theState, theName, null, true);
+			} else {
+				parseChildren(theState, theName, theReader.readCurrentValue(), null, alternateName, true);
+			}
+			token = theReader.nextToken();
+		}
+		return true;
+	}
+
 	private void parseExtension(ParserState<?> theState, BaseJsonLikeArray theValues, boolean theIsModifier) {
 		int allUnderscoreNames = 0;
 		int handledUnderscoreNames = 0;
@@ -1677,11 +1901,6 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 	// theState.endingElement();
 	// }
 
-	private void write(BaseJsonLikeWriter theEventWriter, String theChildName, BigDecimal theDecimalValue)
-			throws IOException {
-		theEventWriter.write(theChildName, theDecimalValue);
-	}
-
 	private void write(BaseJsonLikeWriter theEventWriter, String theChildName, Integer theValue) throws IOException {
 		theEventWriter.write(theChildName, theValue);
 	}
@@ -2049,4 +2268,104 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 			theEventWriter.endObject();
 		}
 	}
+
+	/**
+	 * Walks the token stream of a Bundle, skipping everything other than
+	 * <code>Bundle.entry</code> and streaming each entry into its own single-entry Bundle
+	 * only when it is requested.
+	 */
+	private class JsonBundleEntryIterator implements Iterator<IBaseBundle> {
+
+		private final JacksonStreamingReader myReader;
+		private boolean myInEntryArray;
+		private boolean myFoundResourceType;
+		private boolean myFinished;
+		private IBaseBundle myNext;
+
+		private JsonBundleEntryIterator(Reader theReader) {
+			myReader = new JacksonStreamingReader(theReader);
+			if (myReader.nextToken() != JsonToken.START_OBJECT) {
+				myReader.close();
+				throw new DataFormatException(
+						Msg.code(2783) + "Content does not appear to be FHIR JSON, expected a Bundle object");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (myNext == null && !myFinished) {
+				try {
+					myNext = fetchNext();
+				} catch (RuntimeException e) {
+					myFinished = true;
+					myReader.close();
+					throw e;
+				}
+				if (myNext == null) {
+					myFinished = true;
+					myReader.close();
+				}
+			}
+			return myNext != null;
+		}
+
+		@Override
+		public IBaseBundle next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			IBaseBundle retVal = myNext;
+			myNext = null;
+			return retVal;
+		}
+
+		private IBaseBundle fetchNext() {
+			while (true) {
+				if (myInEntryArray) {
+					JsonToken token = myReader.nextToken();
+					if (token == JsonToken.START_OBJECT) {
+						return parseEntry();
+					}
+					if (token != JsonToken.END_ARRAY) {
+						throw new DataFormatException(Msg.code(2784)
+								+ "Syntax error parsing JSON FHIR structure: Expected OBJECT in Bundle.entry, found '"
+								+ token + "'");
+					}
+					myInEntryArray = false;
+				}
+
+				String nextName = myReader.nextFieldName();
+				if (nextName == null) {
+					if (!myFoundResourceType) {
+						// Entries may precede resourceType, so this can only be detected at the end of the Bundle
+						getErrorHandler().missingRequiredElement(new ParseLocation(), "resourceType");
+					}
+					return null;
+				}
+
+				JsonToken token = myReader.nextToken();
+				if ("resourceType".equals(nextName)) {
+					if (token != JsonToken.VALUE_STRING || !"Bundle".equals(myReader.getText())) {
+						throw new DataFormatException(
+								Msg.code(2785) + "Content is not a Bundle, found resourceType: " + myReader.getText());
+					}
+					myFoundResourceType = true;
+				} else if ("entry".equals(nextName) && token == JsonToken.START_ARRAY) {
+					myInEntryArray = true;
+				} else {
+					myReader.skipCurrentValue();
+				}
+			}
+		}
+
+		private IBaseBundle parseEntry() {
+			ParserState<IBaseBundle> state =
+					ParserState.getPreResourceInstance(JsonParser.this, null, getContext(), true, getErrorHandler());
+			state.enteringNewElement(null, "Bundle");
+			streamObject(myReader, state, "entry", null, true);
+			state.endingElement();
+			state.endingElement();
+			return state.getObject();
+		}
+	}
 }
@@ -21,28 +21,59 @@ package ca.uhn.fhir.parser;
 
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.json.BaseJsonLikeValue.ScalarType;
+import ca.uhn.fhir.parser.json.BaseJsonLikeValue.ValueType;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import ca.uhn.fhir.util.BundleBuilder;
 import ca.uhn.fhir.util.BundleUtil;
+import com.google.common.collect.Lists;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.Validate;
 import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * This class is the FHIR NDJSON parser/encoder. Users should not interact with this class directly, but should use
  * {@link FhirContext#newNDJsonParser()} to get an instance.
+ * <p>
+ * Since 7.8.0, the parsing and encoding options (e.g. the error handler, summary mode and suppressing narratives)
+ * set on this parser are applied to each individual line, whether or not work happens in parallel. Previously
+ * they were ignored, and each line was handled using the default settings.
+ * </p>
  */
 public class NDJsonParser extends BaseParser {
 
 	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(NDJsonParser.class);
 
-	private IParser myJsonParser;
+	/**
+	 * Default number of lines handled by a single task when parsing or encoding in parallel
+	 */
+	public static final int DEFAULT_PARALLEL_BATCH_SIZE = 250;
+
 	private FhirContext myFhirContext;
+	private boolean myPrettyPrint;
+	private ForkJoinPool myForkJoinPool;
+	private boolean myPreserveOrder = true;
+	private int myParallelBatchSize = DEFAULT_PARALLEL_BATCH_SIZE;
 
 	/**
 	 * Do not use this constructor, the recommended way to obtain a new instance of the NDJSON parser is to invoke
@@ -53,16 +84,79 @@ public class NDJsonParser extends BaseParser {
 	public NDJsonParser(FhirContext theContext, IParserErrorHandler theParserErrorHandler) {
 		super(theContext, theParserErrorHandler);
 		myFhirContext = theContext;
-
-		myJsonParser = theContext.newJsonParser();
 	}
 
 	@Override
 	public IParser setPrettyPrint(boolean thePrettyPrint) {
-		myJsonParser.setPrettyPrint(thePrettyPrint);
+		myPrettyPrint = thePrettyPrint;
+		return this;
+	}
+
+	/**
+	 * If set to a non-null value, lines will be parsed (and resources encoded) in parallel on the given
+	 * pool, in batches of {@link #setParallelBatchSize(int) batch size} lines. By default this is
+	 * <code>null</code>, meaning that all work happens sequentially on the calling thread.
+	 * <p>
+	 * The pool is not shut down by this parser.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public NDJsonParser setForkJoinPool(@Nullable ForkJoinPool theForkJoinPool) {
+		myForkJoinPool = theForkJoinPool;
+		return this;
+	}
+
+	/**
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 * @since 7.8.0
+	 */
+	@Nullable
+	public ForkJoinPool getForkJoinPool() {
+		return myForkJoinPool;
+	}
+
+	/**
+	 * When working in parallel (see {@link #setForkJoinPool(ForkJoinPool)}), should the order of the
+	 * input be preserved in the output? Default is <code>true</code>. If set to <code>false</code>,
+	 * batches are emitted in the order they complete, which avoids waiting on a slow batch when
+	 * order is not significant (e.g. for bulk import).
+	 *
+	 * @since 7.8.0
+	 */
+	public NDJsonParser setPreserveOrder(boolean thePreserveOrder) {
+		myPreserveOrder = thePreserveOrder;
+		return this;
+	}
+
+	/**
+	 * @see #setPreserveOrder(boolean)
+	 * @since 7.8.0
+	 */
+	public boolean isPreserveOrder() {
+		return myPreserveOrder;
+	}
+
+	/**
+	 * Sets the number of lines handled by a single task when working in parallel. Default
+	 * is {@link #DEFAULT_PARALLEL_BATCH_SIZE}.
+	 *
+	 * @since 7.8.0
+	 */
+	public NDJsonParser setParallelBatchSize(int theParallelBatchSize) {
+		Validate.isTrue(theParallelBatchSize > 0, "Batch size must be greater than 0");
+		myParallelBatchSize = theParallelBatchSize;
 		return this;
 	}
 
+	/**
+	 * @see #setParallelBatchSize(int)
+	 * @since 7.8.0
+	 */
+	public int getParallelBatchSize() {
+		return myParallelBatchSize;
+	}
+
 	@Override
 	public EncodingEnum getEncoding() {
 		return EncodingEnum.NDJSON;
@@ -80,8 +174,14 @@ public class NDJsonParser extends BaseParser {
 		// Ok, convert the bundle to a list of resources.
 		List<IBaseResource> theBundleResources = BundleUtil.toListOfResources(myFhirContext, (IBaseBundle) theResource);
 
+		if (myForkJoinPool != null) {
+			encodeInParallel(theBundleResources, theWriter);
+			return;
+		}
+
 		// Now we write each one in turn.
 		// Use newline only as a line separator, not at the end of the file.
+		IParser jsonParser = newResourceJsonParser();
 		boolean isFirstResource = true;
 		for (IBaseResource theBundleEntryResource : theBundleResources) {
 			if (!(isFirstResource)) {
@@ -89,7 +189,7 @@ public class NDJsonParser extends BaseParser {
 			}
 			isFirstResource = false;
 
-			myJsonParser.encodeResourceToWriter(theBundleEntryResource, theWriter);
+			jsonParser.encodeResourceToWriter(theBundleEntryResource, theWriter);
 		}
 	}
 
@@ -107,11 +207,17 @@ public class NDJsonParser extends BaseParser {
 			BundleBuilder myBuilder = new BundleBuilder(myFhirContext);
 			myBuilder.setType("collection");
 			BufferedReader myBufferedReader = new BufferedReader(theReader);
+			if (myForkJoinPool != null) {
+				parseInParallel(myBufferedReader, myBuilder::addCollectionEntry);
+				return (T) myBuilder.getBundle();
+			}
+
+			IParser jsonParser = newResourceJsonParser();
 			String jsonString = myBufferedReader.readLine();
 			while (jsonString != null) {
 				// And add it to a collection in a Bundle.
 				// The string must be trimmed, as per the NDJson spec 3.2
-				myBuilder.addCollectionEntry(myJsonParser.parseResource(jsonString.trim()));
+				myBuilder.addCollectionEntry(jsonParser.parseResource(jsonString.trim()));
 				// Try to read another line.
 				jsonString = myBufferedReader.readLine();
 			}
@@ -121,4 +227,280 @@ public class NDJsonParser extends BaseParser {
 			throw new DataFormatException(Msg.code(1835) + err.getMessage());
 		}
 	}
+
+	/**
+	 * Each line is parsed when it is requested, so the parallel options don't apply here
+	 */
+	@Override
+	protected Iterator<IBaseBundle> doParseBundleEntries(Reader theReader) {
+		BufferedReader bufferedReader = new BufferedReader(theReader);
+		IParser jsonParser = newResourceJsonParser();
+
+		return new Iterator<>() {
+			private String myNextLine;
+			private boolean myFinished;
+
+			@Override
+			public boolean hasNext() {
+				if (myNextLine == null && !myFinished) {
+					try {
+						myNextLine = bufferedReader.readLine();
+					} catch (IOException e) {
+						throw new DataFormatException(Msg.code(2802) + e.getMessage());
+					}
+					myFinished = myNextLine == null;
+				}
+				return myNextLine != null;
+			}
+
+			@Override
+			public IBaseBundle next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				String jsonString = myNextLine;
+				myNextLine = null;
+
+				// The string must be trimmed, as per the NDJson spec 3.2
+				BundleBuilder builder = new BundleBuilder(myFhirContext);
+				builder.addCollectionEntry(jsonParser.parseResource(jsonString.trim()));
+				return builder.getBundle();
+			}
+		};
+	}
+
+	/**
+	 * Creates a parser for the individual resources (lines), configured the same way as this parser
+	 */
+	private IParser newResourceJsonParser() {
+		IParser retVal = myFhirContext.newJsonParser();
+		copyConfigurationTo(retVal);
+		retVal.setPrettyPrint(myPrettyPrint);
+		return retVal;
+	}
+
+	/**
+	 * Creates a parser for a batch of lines handled on the pool. Error handlers aren't required to be
+	 * thread-safe, so calls to the error handler are serialized.
+	 */
+	private IParser newParallelResourceJsonParser() {
+		IParser retVal = newResourceJsonParser();
+		if (getErrorHandler() != null) {
+			retVal.setParserErrorHandler(new SynchronizedErrorHandler(getErrorHandler()));
+		}
+		return retVal;
+	}
+
+	private void encodeInParallel(List<IBaseResource> theResources, Writer theWriter) throws IOException {
+		ParallelBatches<String> batches = new ParallelBatches<>();
+		boolean isFirstBatch = true;
+		for (List<IBaseResource> nextBatch : Lists.partition(theResources, myParallelBatchSize)) {
+			for (String next : batches.submit(() -> encodeBatch(nextBatch))) {
+				isFirstBatch = writeBatch(theWriter, next, isFirstBatch);
+			}
+		}
+		for (String next : batches.drain()) {
+			isFirstBatch = writeBatch(theWriter, next, isFirstBatch);
+		}
+	}
+
+	private String encodeBatch(List<IBaseResource> theResources) throws IOException {
+		IParser jsonParser = newParallelResourceJsonParser();
+		StringWriter writer = new StringWriter();
+		for (int i = 0; i < theResources.size(); i++) {
+			if (i > 0) {
+				writer.write("\n");
+			}
+			jsonParser.encodeResourceToWriter(theResources.get(i), writer);
+		}
+		return writer.toString();
+	}
+
+	private static boolean writeBatch(Writer theWriter, String theEncodedBatch, boolean theIsFirstBatch)
+			throws IOException {
+		if (!theIsFirstBatch) {
+			theWriter.write("\n");
+		}
+		theWriter.write(theEncodedBatch);
+		return false;
+	}
+
+	private void parseInParallel(BufferedReader theReader, Consumer<IBaseResource> theConsumer) throws IOException {
+		ParallelBatches<List<IBaseResource>> batches = new ParallelBatches<>();
+		List<String> nextBatch = new ArrayList<>(myParallelBatchSize);
+		for (String jsonString = theReader.readLine(); jsonString != null; jsonString = theReader.readLine()) {
+			nextBatch.add(jsonString);
+			if (nextBatch.size() == myParallelBatchSize) {
+				List<String> lines = nextBatch;
+				batches.submit(() -> parseBatch(lines)).forEach(t -> t.forEach(theConsumer));
+				nextBatch = new ArrayList<>(myParallelBatchSize);
+			}
+		}
+		if (!nextBatch.isEmpty()) {
+			List<String> lines = nextBatch;
+			batches.submit(() -> parseBatch(lines)).forEach(t -> t.forEach(theConsumer));
+		}
+		batches.drain().forEach(t -> t.forEach(theConsumer));
+	}
+
+	private List<IBaseResource> parseBatch(List<String> theLines) {
+		IParser jsonParser = newParallelResourceJsonParser();
+		List<IBaseResource> retVal = new ArrayList<>(theLines.size());
+		for (String next : theLines) {
+			// The string must be trimmed, as per the NDJson spec 3.2
+			retVal.add(jsonParser.parseResource(next.trim()));
+		}
+		return retVal;
+	}
+
+	/**
+	 * Tracks the batches that have been submitted to the pool, limiting the number
+	 * in flight so that a fast reader/writer can't queue up the entire input. A completion
+	 * service is only used when order isn't preserved, since otherwise nothing would ever
+	 * take the completed batches back out of its queue.
+	 */
+	private class ParallelBatches<T> {
+
+		private final CompletionService<T> myCompletionService =
+				myPreserveOrder ? null : new ExecutorCompletionService<>(myForkJoinPool);
+		private final Deque<Future<T>> myInFlight = new ArrayDeque<>();
+		private final int myMaxInFlight = Math.max(2, myForkJoinPool.getParallelism() * 2);
+
+		/**
+		 * Submits a batch, and returns any completed results that should be emitted (which
+		 * will only be non-empty if the maximum number of batches are already in flight)
+		 */
+		List<T> submit(Callable<T> theTask) {
+			if (myCompletionService != null) {
+				myInFlight.add(myCompletionService.submit(theTask));
+			} else {
+				myInFlight.add(myForkJoinPool.submit(theTask));
+			}
+			List<T> retVal = new ArrayList<>(1);
+			while (myInFlight.size() >= myMaxInFlight) {
+				retVal.add(takeNext());
+			}
+			return retVal;
+		}
+
+		/**
+		 * Waits for all remaining batches and returns their results
+		 */
+		List<T> drain() {
+			List<T> retVal = new ArrayList<>(myInFlight.size());
+			while (!myInFlight.isEmpty()) {
+				retVal.add(takeNext());
+			}
+			return retVal;
+		}
+
+		private T takeNext() {
+			try {
+				Future<T> next;
+				if (myCompletionService == null) {
+					next = myInFlight.removeFirst();
+				} else {
+					next = myCompletionService.take();
+					myInFlight.remove(next);
+				}
+				return next.get();
+			} catch (InterruptedException e) {
+				myInFlight.forEach(t -> t.cancel(true));
+				myInFlight.clear();
+				Thread.currentThread().interrupt();
+				throw new DataFormatException(Msg.code(2790) + "Interrupted while processing NDJSON", e);
+			} catch (ExecutionException e) {
+				myInFlight.forEach(t -> t.cancel(true));
+				myInFlight.clear();
+				if (e.getCause() instanceof DataFormatException) {
+					throw (DataFormatException) e.getCause();
+				}
+				throw new DataFormatException(Msg.code(2791) + e.getCause().getMessage(), e.getCause());
+			}
+		}
+	}
+
+	private static class SynchronizedErrorHandler implements IParserErrorHandler {
+
+		private final IParserErrorHandler myDelegate;
+
+		private SynchronizedErrorHandler(IParserErrorHandler theDelegate) {
+			myDelegate = theDelegate;
+		}
+
+		@Override
+		public void containedResourceWithNoId(IParseLocation theLocation) {
+			synchronized (myDelegate) {
+				myDelegate.containedResourceWithNoId(theLocation);
+			}
+		}
+
+		@Override
+		public void incorrectJsonType(
+				IParseLocation theLocation,
+				String theElementName,
+				ValueType theExpectedValueType,
+				ScalarType theExpectedScalarType,
+				ValueType theFoundValueType,
+				ScalarType theFoundScalarType) {
+			synchronized (myDelegate) {
+				myDelegate.incorrectJsonType(
+						theLocation,
+						theElementName,
+						theExpectedValueType,
+						theExpectedScalarType,
+						theFoundValueType,
+						theFoundScalarType);
+			}
+		}
+
+		@Override
+		public void invalidValue(IParseLocation theLocation, String theValue, String theError) {
+			synchronized (myDelegate) {
+				myDelegate.invalidValue(theLocation, theValue, theError);
+			}
+		}
+
+		@Override
+		public void missingRequiredElement(IParseLocation theLocation, String theElementName) {
+			synchronized (myDelegate) {
+				myDelegate.missingRequiredElement(theLocation, theElementName);
+			}
+		}
+
+		@Override
+		public void unexpectedRepeatingElement(IParseLocation theLocation, String theElementName) {
+			synchronized (myDelegate) {
+				myDelegate.unexpectedRepeatingElement(theLocation, theElementName);
+			}
+		}
+
+		@Override
+		public void unknownAttribute(IParseLocation theLocation, String theAttributeName) {
+			synchronized (myDelegate) {
+				myDelegate.unknownAttribute(theLocation, theAttributeName);
+			}
+		}
+
+		@Override
+		public void unknownElement(IParseLocation theLocation, String theElementName) {
+			synchronized (myDelegate) {
+				myDelegate.unknownElement(theLocation, theElementName);
+			}
+		}
+
+		@Override
+		public void unknownReference(IParseLocation theLocation, String theReference) {
+			synchronized (myDelegate) {
+				myDelegate.unknownReference(theLocation, theReference);
+			}
+		}
+
+		@Override
+		public void extensionContainsValueAndNestedExtensions(IParseLocation theLocation) {
+			synchronized (myDelegate) {
+				myDelegate.extensionContainsValueAndNestedExtensions(theLocation);
+			}
+		}
+	}
 }
@@ -20,6 +20,7 @@
 package ca.uhn.fhir.parser;
 
 import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition.ChildNameAndDef;
 import ca.uhn.fhir.context.BaseRuntimeDeclaredChildDefinition;
 import ca.uhn.fhir.context.BaseRuntimeElementDefinition;
 import ca.uhn.fhir.context.ConfigurationException;
@@ -49,6 +50,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.instance.model.api.IAnyResource;
 import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseBinary;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseDatatype;
 import org.hl7.fhir.instance.model.api.IBaseExtension;
 import org.hl7.fhir.instance.model.api.IBaseHasExtensions;
@@ -61,12 +63,18 @@ import org.hl7.fhir.instance.model.api.IPrimitiveType;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import javax.xml.namespace.QName;
 import javax.xml.stream.FactoryConfigurationError;
+import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -78,6 +86,7 @@ import javax.xml.stream.events.EntityReference;
 import javax.xml.stream.events.Namespace;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.EventReaderDelegate;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -171,11 +180,28 @@ public class XmlParser extends BaseParser {
 		return parseResource(theResourceType, streamReader);
 	}
 
+	@Override
+	protected Iterator<IBaseBundle> doParseBundleEntries(Reader theReader) {
+		XMLEventReader streamReader = createStreamReader(theReader);
+		return new XmlBundleEntryIterator(streamReader);
+	}
+
 	private <T> T doXmlLoop(XMLEventReader streamReader, ParserState<T> parserState) {
+		return doXmlLoop(streamReader, parserState, false);
+	}
+
+	/**
+	 * @param theApplyParseElements If <code>true</code>, {@link #setParseElements(Set)} is applied to the
+	 *                              children of the root element
+	 */
+	private <T> T doXmlLoop(
+			XMLEventReader streamReader, ParserState<T> parserState, boolean theApplyParseElements) {
 		ourLog.trace("Entering XML parsing loop with state: {}", parserState);
 
 		try {
 			List<String> heldComments = new ArrayList<>(1);
+			int depth = 0;
+			Predicate<String> elementFilter = null;
 
 			while (streamReader.hasNext()) {
 				XMLEvent nextEvent = streamReader.nextEvent();
@@ -188,6 +214,18 @@ public class XmlParser extends BaseParser {
 							String namespaceURI = elem.getName().getNamespaceURI();
 
 							String localPart = elem.getName().getLocalPart();
+							depth++;
+							if (theApplyParseElements) {
+								if (depth == 1) {
+									elementFilter = newParseElementsFilter(localPart);
+								} else if (depth == 2 && elementFilter != null && !elementFilter.test(localPart)) {
+									skipElement(streamReader);
+									depth--;
+									heldComments.clear();
+									continue;
+								}
+							}
+
 							if ("extension".equals(localPart)) {
 								Attribute urlAttr = elem.getAttributeByName(new QName("url"));
 								String url;
@@ -233,6 +271,7 @@ public class XmlParser extends BaseParser {
 						}
 						case XMLStreamConstants.END_DOCUMENT:
 						case XMLStreamConstants.END_ELEMENT: {
+							depth--;
 							if (!heldComments.isEmpty()) {
 								for (String next : heldComments) {
 									parserState.commentPost(next);
@@ -269,6 +308,21 @@ public class XmlParser extends BaseParser {
 		}
 	}
 
+	/**
+	 * Consumes events up to and including the end of the element whose start event was just read
+	 */
+	private static void skipElement(XMLEventReader theStreamReader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && theStreamReader.hasNext()) {
+			XMLEvent next = theStreamReader.nextEvent();
+			if (next.isStartElement()) {
+				depth++;
+			} else if (next.isEndElement()) {
+				depth--;
+			}
+		}
+	}
+
 	private void encodeChildElementToStreamWriter(
 			IBaseResource theResource,
 			XMLStreamWriter theEventWriter,
@@ -486,7 +540,7 @@ public class XmlParser extends BaseParser {
 						continue;
 					}
 
-					BaseParser.ChildNameAndDef childNameAndDef = super.getChildNameAndDef(nextChild, nextValue);
+					ChildNameAndDef childNameAndDef = super.getChildNameAndDef(nextChild, nextValue);
 					if (childNameAndDef == null) {
 						continue;
 					}
@@ -994,7 +1048,7 @@ public class XmlParser extends BaseParser {
 	private <T extends IBaseResource> T parseResource(Class<T> theResourceType, XMLEventReader theStreamReader) {
 		ParserState<T> parserState =
 				ParserState.getPreResourceInstance(this, theResourceType, getContext(), false, getErrorHandler());
-		return doXmlLoop(theStreamReader, parserState);
+		return doXmlLoop(theStreamReader, parserState, true);
 	}
 
 	@Override
@@ -1042,4 +1096,169 @@ public class XmlParser extends BaseParser {
 			theEventWriter.writeEndElement();
 		}
 	}
+
+	/**
+	 * Walks the event stream of a Bundle, skipping everything other than
+	 * <code>Bundle.entry</code> and parsing each entry into its own single-entry Bundle
+	 * only when it is requested.
+	 */
+	private class XmlBundleEntryIterator implements Iterator<IBaseBundle> {
+
+		private final XMLEventReader myStreamReader;
+		private final XMLEventFactory myEventFactory = XMLEventFactory.newInstance();
+		private boolean myFinished;
+		private IBaseBundle myNext;
+
+		private XmlBundleEntryIterator(XMLEventReader theStreamReader) {
+			myStreamReader = theStreamReader;
+			try {
+				XMLEvent nextEvent = null;
+				while (myStreamReader.hasNext() && (nextEvent == null || !nextEvent.isStartElement())) {
+					nextEvent = myStreamReader.nextEvent();
+				}
+				if (nextEvent == null
+						|| !nextEvent.isStartElement()
+						|| !"Bundle".equals(nextEvent.asStartElement().getName().getLocalPart())) {
+					close();
+					throw new DataFormatException(Msg.code(2786) + "Content is not a Bundle");
+				}
+			} catch (XMLStreamException e) {
+				close();
+				throw new DataFormatException(Msg.code(2787) + e);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (myNext == null && !myFinished) {
+				try {
+					myNext = fetchNext();
+				} catch (XMLStreamException e) {
+					myFinished = true;
+					close();
+					throw new DataFormatException(Msg.code(2788) + e);
+				} catch (RuntimeException e) {
+					myFinished = true;
+					close();
+					throw e;
+				}
+				if (myNext == null) {
+					myFinished = true;
+					close();
+				}
+			}
+			return myNext != null;
+		}
+
+		/**
+		 * Closing the event reader releases its resources, but doesn't close the underlying Reader
+		 */
+		private void close() {
+			try {
+				myStreamReader.close();
+			} catch (XMLStreamException e) {
+				ourLog.debug("Failed to close XML event reader", e);
+			}
+		}
+
+		@Override
+		public IBaseBundle next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			IBaseBundle retVal = myNext;
+			myNext = null;
+			return retVal;
+		}
+
+		private IBaseBundle fetchNext() throws XMLStreamException {
+			while (myStreamReader.hasNext()) {
+				XMLEvent nextEvent = myStreamReader.nextEvent();
+				if (nextEvent.isEndElement()) {
+					// This is the end of the Bundle itself
+					return null;
+				}
+				if (!nextEvent.isStartElement()) {
+					continue;
+				}
+
+				StartElement elem = nextEvent.asStartElement();
+				if ("entry".equals(elem.getName().getLocalPart())) {
+					ParserState<IBaseBundle> state = ParserState.getPreResourceInstance(
+							XmlParser.this, null, getContext(), false, getErrorHandler());
+					return doXmlLoop(new SingleEntryEventReader(elem), state);
+				}
+
+				skipElement();
+			}
+			return null;
+		}
+
+		private void skipElement() throws XMLStreamException {
+			int depth = 1;
+			while (depth > 0) {
+				XMLEvent nextEvent = myStreamReader.nextEvent();
+				if (nextEvent.isStartElement()) {
+					depth++;
+				} else if (nextEvent.isEndElement()) {
+					depth--;
+				}
+			}
+		}
+
+		/**
+		 * Presents a single <code>entry</code> element from the underlying stream as
+		 * a complete document containing a Bundle with only that entry.
+		 */
+		private class SingleEntryEventReader extends EventReaderDelegate {
+
+			private final Deque<XMLEvent> myQueue = new ArrayDeque<>();
+			private int myDepth = 1;
+
+			private SingleEntryEventReader(StartElement theEntryElement) {
+				super(myStreamReader);
+				String namespaceUri = theEntryElement.getName().getNamespaceURI();
+				myEventFactory.setLocation(theEntryElement.getLocation());
+				myQueue.add(myEventFactory.createStartElement("", namespaceUri, "Bundle"));
+				myQueue.add(theEntryElement);
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !myQueue.isEmpty() || myDepth > 0;
+			}
+
+			@Override
+			public XMLEvent nextEvent() throws XMLStreamException {
+				if (!myQueue.isEmpty()) {
+					return myQueue.poll();
+				}
+				if (myDepth == 0) {
+					throw new NoSuchElementException();
+				}
+
+				XMLEvent retVal = super.nextEvent();
+				if (retVal.isStartElement()) {
+					myDepth++;
+				} else if (retVal.isEndElement()) {
+					myDepth--;
+					if (myDepth == 0) {
+						QName name = retVal.asEndElement().getName();
+						myQueue.add(myEventFactory.createEndElement("", name.getNamespaceURI(), "Bundle"));
+						myQueue.add(myEventFactory.createEndDocument());
+					}
+				}
+				return retVal;
+			}
+
+			@Override
+			public Object next() {
+				try {
+					return nextEvent();
+				} catch (XMLStreamException e) {
+					throw new DataFormatException(Msg.code(2789) + e);
+				}
+			}
+		}
+	}
 }
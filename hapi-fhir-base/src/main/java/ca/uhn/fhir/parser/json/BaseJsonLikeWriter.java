@@ -75,6 +75,16 @@ public abstract class BaseJsonLikeWriter {
 
 	public abstract BaseJsonLikeWriter write(boolean value) throws IOException;
 
+	/**
+	 * Writes a number using the exact textual representation supplied (e.g. to preserve
+	 * the precision of a FHIR decimal). Subclasses should override this method if the
+	 * underlying writer can emit raw number text without first converting it to a
+	 * {@link BigDecimal}.
+	 */
+	public BaseJsonLikeWriter writeNumber(String theEncodedValue) throws IOException {
+		return write(toBigDecimalPreservingText(theEncodedValue));
+	}
+
 	public abstract BaseJsonLikeWriter writeNull() throws IOException;
 
 	public abstract BaseJsonLikeWriter write(String name, String value) throws IOException;
@@ -91,9 +101,29 @@ public abstract class BaseJsonLikeWriter {
 
 	public abstract BaseJsonLikeWriter write(String name, boolean value) throws IOException;
 
+	/**
+	 * Writes a named number using the exact textual representation supplied.
+	 *
+	 * @see #writeNumber(String)
+	 */
+	public BaseJsonLikeWriter writeNumber(String theName, String theEncodedValue) throws IOException {
+		return write(theName, toBigDecimalPreservingText(theEncodedValue));
+	}
+
 	public abstract BaseJsonLikeWriter endObject() throws IOException;
 
 	public abstract BaseJsonLikeWriter endArray() throws IOException;
 
 	public abstract BaseJsonLikeWriter endBlock() throws IOException;
+
+	private static BigDecimal toBigDecimalPreservingText(String theEncodedValue) {
+		return new BigDecimal(theEncodedValue) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String toString() {
+				return theEncodedValue;
+			}
+		};
+	}
 }
@@ -0,0 +1,210 @@
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2024 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package ca.uhn.fhir.parser.json.jackson;
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.json.BaseJsonLikeObject;
+import ca.uhn.fhir.parser.json.BaseJsonLikeValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Token-level reader over JSON content, used by the JSON parser when
+ * {@link ca.uhn.fhir.context.ParserOptions#setJsonStreamingParsingEnabled(boolean) streaming parsing}
+ * is enabled. Unlike {@link JacksonStructure}, this class never materializes the whole document.
+ * Callers walk the token stream themselves and only buffer small fragments (e.g. primitive
+ * values and extensions) as {@link BaseJsonLikeValue} trees where random access is needed.
+ */
+public class JacksonStreamingReader implements Closeable {
+
+	private final JsonParser myParser;
+
+	public JacksonStreamingReader(Reader theReader) {
+		try {
+			myParser = JacksonStructure.createJsonParser(theReader);
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Advances to the next token
+	 *
+	 * @return The next token, or <code>null</code> if the end of the input has been reached
+	 */
+	public JsonToken nextToken() {
+		try {
+			return myParser.nextToken();
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Advances to the next token, which is expected to be either a field name or the
+	 * end of the current object.
+	 *
+	 * @return The field name, or <code>null</code> if the current object has ended
+	 */
+	public String nextFieldName() {
+		try {
+			return myParser.nextFieldName();
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Returns the textual value of the current token
+	 */
+	public String getText() {
+		try {
+			return myParser.getText();
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Skips over the value starting at the current token (including any children). On
+	 * return the reader is positioned on the last token of the value.
+	 */
+	public void skipCurrentValue() {
+		try {
+			myParser.skipChildren();
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Reads the value starting at the current token (including any children) into a tree. On
+	 * return the reader is positioned on the last token of the value.
+	 */
+	public BaseJsonLikeValue readCurrentValue() {
+		return new JacksonStructure.JacksonJsonValue(readCurrentNode());
+	}
+
+	/**
+	 * Reads the remainder of an array into a tree. The reader must be positioned on the first
+	 * token following the <code>[</code> (which may be the closing <code>]</code>). On return the
+	 * reader is positioned on the closing <code>]</code>.
+	 */
+	public BaseJsonLikeValue readArrayRemainder() {
+		return new JacksonStructure.JacksonJsonValue(readArrayRemainderNode());
+	}
+
+	/**
+	 * Reads the remainder of an object into a tree. The reader must be positioned on a field
+	 * name within the object. On return the reader is positioned on the closing <code>}</code>.
+	 */
+	public BaseJsonLikeObject readObjectRemainder() {
+		ObjectNode object = JacksonStructure.getNodeFactory().objectNode();
+		for (String name = myParser.currentName(); name != null; name = nextFieldName()) {
+			nextToken();
+			object.set(name, readCurrentNode());
+		}
+		return new JacksonStructure.JacksonJsonObject(object);
+	}
+
+	/**
+	 * Creates a new, initially empty, buffer for object members that are held back
+	 * while the rest of the object is streamed.
+	 */
+	public BufferedObject newBufferedObject() {
+		return new BufferedObject();
+	}
+
+	private ArrayNode readArrayRemainderNode() {
+		ArrayNode array = JacksonStructure.getNodeFactory().arrayNode();
+		for (JsonToken token = myParser.currentToken(); token != JsonToken.END_ARRAY; token = nextToken()) {
+			if (token == null) {
+				throw new DataFormatException(Msg.code(2775) + "Unexpected end of input while reading array");
+			}
+			array.add(readCurrentNode());
+		}
+		return array;
+	}
+
+	private JsonNode readCurrentNode() {
+		try {
+			return JacksonStructure.readTree(myParser);
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			myParser.close();
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Holds a subset of the members of a JSON object, in the order they were encountered
+	 */
+	public class BufferedObject {
+
+		private final ObjectNode myObject = JacksonStructure.getNodeFactory().objectNode();
+
+		private BufferedObject() {}
+
+		/**
+		 * Reads the value at the current token and stores it under the given name
+		 */
+		public void bufferCurrentValue(String theName) {
+			myObject.set(theName, readCurrentNode());
+		}
+
+		/**
+		 * Reads the remainder of an array (see {@link #readArrayRemainder()}) and stores it under the given name
+		 */
+		public void bufferArrayRemainder(String theName) {
+			myObject.set(theName, readArrayRemainderNode());
+		}
+
+		/**
+		 * Removes and returns a previously buffered value, or returns <code>null</code>
+		 */
+		public BaseJsonLikeValue remove(String theName) {
+			JsonNode removed = myObject.remove(theName);
+			return removed != null ? new JacksonStructure.JacksonJsonValue(removed) : null;
+		}
+
+		public boolean isEmpty() {
+			return myObject.isEmpty();
+		}
+
+		public BaseJsonLikeObject asObject() {
+			return new JacksonStructure.JacksonJsonObject(myObject);
+		}
+	}
+}
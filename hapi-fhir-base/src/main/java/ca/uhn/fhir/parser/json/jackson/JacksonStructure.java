@@ -34,6 +34,7 @@ import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.DecimalNode;
@@ -54,6 +55,8 @@ import java.util.Map;
 public class JacksonStructure implements JsonLikeStructure {
 
 	private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+	private static final ObjectReader SUBTREE_READER =
+			OBJECT_MAPPER.reader().without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
 	private JacksonWriter jacksonWriter;
 	private ROOT_TYPE rootType = null;
 	private JsonNode nativeRoot = null;
@@ -116,39 +119,67 @@ public class JacksonStructure implements JsonLikeStructure {
 				setNativeArray((ArrayNode) OBJECT_MAPPER.readTree(pbr));
 			}
 		} catch (Exception e) {
-			String message;
-			if (e instanceof JsonProcessingException) {
-				/*
-				 * Currently there is no way of preventing Jackson from adding this
-				 * annoying REDACTED message from certain messages we get back from
-				 * the parser, so we just manually strip them. Hopefully Jackson
-				 * will accept this request at some point:
-				 * https://github.com/FasterXML/jackson-core/issues/1158
-				 */
-				JsonProcessingException jpe = (JsonProcessingException) e;
-				StringBuilder messageBuilder = new StringBuilder();
-				String originalMessage = jpe.getOriginalMessage();
-				originalMessage = originalMessage.replace(
-						"Source: REDACTED (`StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION` disabled); ", "");
-				messageBuilder.append(originalMessage);
-				if (jpe.getLocation() != null) {
-					messageBuilder.append("\n at [");
-					jpe.getLocation().appendOffsetDescription(messageBuilder);
-					messageBuilder.append("]");
-				}
-				message = messageBuilder.toString();
-			} else {
-				message = e.getMessage();
-			}
+			throw toDataFormatException(e);
+		}
+	}
 
-			if (message.startsWith("Unexpected char 39")) {
-				throw new DataFormatException(
-						Msg.code(1860) + "Failed to parse JSON encoded FHIR content: " + message + " - "
-								+ "This may indicate that single quotes are being used as JSON escapes where double quotes are required",
-						e);
+	/**
+	 * Converts a failure raised by Jackson while reading JSON content into a {@link DataFormatException}
+	 * with a message suitable for returning to a client.
+	 */
+	static DataFormatException toDataFormatException(Exception e) {
+		String message;
+		if (e instanceof JsonProcessingException) {
+			/*
+			 * Currently there is no way of preventing Jackson from adding this
+			 * annoying REDACTED message from certain messages we get back from
+			 * the parser, so we just manually strip them. Hopefully Jackson
+			 * will accept this request at some point:
+			 * https://github.com/FasterXML/jackson-core/issues/1158
+			 */
+			JsonProcessingException jpe = (JsonProcessingException) e;
+			StringBuilder messageBuilder = new StringBuilder();
+			String originalMessage = jpe.getOriginalMessage();
+			originalMessage = originalMessage.replace(
+					"Source: REDACTED (`StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION` disabled); ", "");
+			messageBuilder.append(originalMessage);
+			if (jpe.getLocation() != null) {
+				messageBuilder.append("\n at [");
+				jpe.getLocation().appendOffsetDescription(messageBuilder);
+				messageBuilder.append("]");
 			}
-			throw new DataFormatException(Msg.code(1861) + "Failed to parse JSON encoded FHIR content: " + message, e);
+			message = messageBuilder.toString();
+		} else {
+			message = e.getMessage();
+		}
+
+		if (message.startsWith("Unexpected char 39")) {
+			return new DataFormatException(
+					Msg.code(1860) + "Failed to parse JSON encoded FHIR content: " + message + " - "
+							+ "This may indicate that single quotes are being used as JSON escapes where double quotes are required",
+					e);
 		}
+		return new DataFormatException(Msg.code(1861) + "Failed to parse JSON encoded FHIR content: " + message, e);
+	}
+
+	/**
+	 * Creates a streaming (token level) Jackson parser using the same configuration
+	 * that is used when loading a complete structure.
+	 */
+	static JsonParser createJsonParser(Reader theReader) throws IOException {
+		return OBJECT_MAPPER.getFactory().createParser(theReader);
+	}
+
+	/**
+	 * Reads the value at the current token of the given parser (and any children it has) into a
+	 * tree. The parser is left positioned on the last token of the value.
+	 */
+	static JsonNode readTree(JsonParser theParser) throws IOException {
+		return SUBTREE_READER.readTree(theParser);
+	}
+
+	static JsonNodeFactory getNodeFactory() {
+		return OBJECT_MAPPER.getNodeFactory();
 	}
 
 	@Override
@@ -186,7 +217,7 @@ public class JacksonStructure implements JsonLikeStructure {
 		ARRAY
 	}
 
-	private static class JacksonJsonObject extends BaseJsonLikeObject {
+	static class JacksonJsonObject extends BaseJsonLikeObject {
 		private final ObjectNode nativeObject;
 
 		public JacksonJsonObject(ObjectNode json) {
@@ -258,7 +289,7 @@ public class JacksonStructure implements JsonLikeStructure {
 		}
 	}
 
-	private static class JacksonJsonArray extends BaseJsonLikeArray {
+	static class JacksonJsonArray extends BaseJsonLikeArray {
 		private final ArrayNode nativeArray;
 		private final Map<Integer, BaseJsonLikeValue> jsonLikeMap = new LinkedHashMap<Integer, BaseJsonLikeValue>();
 
@@ -293,7 +324,7 @@ public class JacksonStructure implements JsonLikeStructure {
 		}
 	}
 
-	private static class JacksonJsonValue extends BaseJsonLikeValue {
+	static class JacksonJsonValue extends BaseJsonLikeValue {
 		private final JsonNode nativeValue;
 		private BaseJsonLikeObject jsonLikeObject = null;
 		private BaseJsonLikeArray jsonLikeArray = null;
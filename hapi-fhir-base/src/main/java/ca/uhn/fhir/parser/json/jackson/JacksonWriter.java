@@ -91,43 +91,60 @@ public class JacksonWriter extends BaseJsonLikeWriter {
 
 	@Override
 	public BaseJsonLikeWriter write(String value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeString(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(BigInteger value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeNumber(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(BigDecimal value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeNumber(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(long value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeNumber(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(double value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeNumber(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(Boolean value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		if (value == null) {
+			myJsonGenerator.writeNull();
+		} else {
+			myJsonGenerator.writeBoolean(value);
+		}
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(boolean value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		myJsonGenerator.writeBoolean(value);
+		return this;
+	}
+
+	@Override
+	public BaseJsonLikeWriter writeNumber(String theEncodedValue) throws IOException {
+		myJsonGenerator.writeNumber(theEncodedValue);
+		return this;
+	}
+
+	@Override
+	public BaseJsonLikeWriter writeNumber(String theName, String theEncodedValue) throws IOException {
+		myJsonGenerator.writeFieldName(theName);
+		myJsonGenerator.writeNumber(theEncodedValue);
 		return this;
 	}
 
@@ -139,44 +156,44 @@ public class JacksonWriter extends BaseJsonLikeWriter {
 
 	@Override
 	public BaseJsonLikeWriter write(String name, String value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, BigInteger value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, BigDecimal value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, long value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, double value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, Boolean value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, boolean value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
-		return this;
+		myJsonGenerator.writeFieldName(name);
+		return write(value);
 	}
 
 	@Override
@@ -177,6 +177,12 @@ public class Constants {
 	public static final String PARAM_CONTENT = "_content";
 	public static final String PARAM_COUNT = "_count";
 	public static final String PARAM_OFFSET = "_offset";
+	/**
+	 * Keyset paging position, used by the JPA server
+	 *
+	 * @since 7.8.0
+	 */
+	public static final String PARAM_SEARCH_AFTER = "_searchAfter";
 	public static final String PARAM_DELETE = "_delete";
 	public static final String PARAM_ELEMENTS = "_elements";
 	public static final String PARAM_ELEMENTS_EXCLUDE_MODIFIER = ":exclude";
@@ -70,6 +70,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -800,7 +801,26 @@ public class FhirTerser {
 		return getValues(def, theElement, parts, theWantedClass, theCreate, theAddExtension);
 	}
 
+	/**
+	 * Compiles a path (in the same format accepted by {@link #getValues(IBase, String)}) into an
+	 * accessor that can be reused, and safely shared between threads. The path is only tokenized
+	 * once, so callers which apply the same path to many elements (e.g. matching rules applied
+	 * to every resource being processed) should prefer this over repeatedly calling
+	 * <code>getValues(...)</code>.
+	 *
+	 * @param thePath The path for the element to be accessed
+	 * @since 7.8.0
+	 */
+	public CompiledPath compile(String thePath) {
+		Validate.notBlank(thePath, "thePath must not be blank");
+		return new CompiledPath(this, thePath, splitPath(thePath));
+	}
+
 	private List<String> parsePath(BaseRuntimeElementCompositeDefinition<?> theElementDef, String thePath) {
+		return trimElementName(theElementDef, splitPath(thePath), thePath);
+	}
+
+	private static List<String> splitPath(String thePath) {
 		List<String> parts = new ArrayList<>();
 
 		int currentStart = 0;
@@ -820,7 +840,12 @@ public class FhirTerser {
 		}
 
 		parts.add(thePath.substring(currentStart));
+		return parts;
+	}
 
+	private static List<String> trimElementName(
+			BaseRuntimeElementCompositeDefinition<?> theElementDef, List<String> theParts, String thePath) {
+		List<String> parts = theParts;
 		String firstPart = parts.get(0);
 		if (Character.isUpperCase(firstPart.charAt(0)) && theElementDef instanceof RuntimeResourceDefinition) {
 			if (firstPart.equals(theElementDef.getName())) {
@@ -1767,6 +1792,72 @@ public class FhirTerser {
 		boolean consume(IIdType theCompartmentOwner);
 	}
 
+	/**
+	 * A path which has been compiled using {@link #compile(String)}. Instances are thread safe.
+	 * <p>
+	 * Only the tokenized path, and the path with the leading element name trimmed for each root
+	 * definition, are cached. Child definitions are still looked up while the path is walked. Each
+	 * lookup is a single map lookup on the element definition, so caching it would not save anything.
+	 * Below the first segment, the definition to look up depends on the runtime class of each value
+	 * (e.g. for choice types), so it can't be resolved when the path is compiled.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public static class CompiledPath {
+		private final FhirTerser myTerser;
+		private final String myPath;
+		private final List<String> myParts;
+		private final Map<BaseRuntimeElementCompositeDefinition<?>, List<String>> myElementDefinitionToParts =
+				new ConcurrentHashMap<>();
+
+		private CompiledPath(FhirTerser theTerser, String thePath, List<String> theParts) {
+			myTerser = theTerser;
+			myPath = thePath;
+			myParts = Collections.unmodifiableList(theParts);
+		}
+
+		public String getPath() {
+			return myPath;
+		}
+
+		/**
+		 * @see FhirTerser#getValues(IBase, String)
+		 */
+		public List<IBase> getValues(IBase theElement) {
+			return getValues(theElement, IBase.class);
+		}
+
+		/**
+		 * @see FhirTerser#getValues(IBase, String, Class)
+		 */
+		public <T extends IBase> List<T> getValues(IBase theElement, Class<T> theWantedClass) {
+			return getValues(theElement, theWantedClass, false);
+		}
+
+		/**
+		 * @see FhirTerser#getValues(IBase, String, Class, boolean)
+		 */
+		public <T extends IBase> List<T> getValues(IBase theElement, Class<T> theWantedClass, boolean theCreate) {
+			BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>)
+					myTerser.myContext.getElementDefinition(theElement.getClass());
+			List<String> parts = myElementDefinitionToParts.computeIfAbsent(
+					def, t -> trimElementName(t, myParts, myPath));
+			return myTerser.getValues(def, theElement, parts, theWantedClass, theCreate, false);
+		}
+
+		/**
+		 * @see FhirTerser#getSingleValueOrNull(IBase, String, Class)
+		 */
+		public <T extends IBase> T getSingleValueOrNull(IBase theElement, Class<T> theWantedType) {
+			List<T> values = getValues(theElement, theWantedType);
+			if (values.isEmpty()) {
+				return null;
+			}
+			return values.get(0);
+		}
+	}
+
 	public static class ContainedResources {
 		private long myNextContainedId = 1;
 
@@ -322,6 +322,56 @@ public class InterceptorServiceTest {
 		assertThat(interceptor1.myLastString1).isSameAs(null);
 	}
 
+	@Test
+	public void testCallHooksSeesRegistrationChanges() {
+		InterceptorService svc = new InterceptorService();
+		assertTrue(svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B")));
+		assertThat(myInvocations).isEmpty();
+
+		MyTestInterceptorTwo interceptor1 = new MyTestInterceptorTwo();
+		svc.registerInterceptor(interceptor1);
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		assertThat(myInvocations).containsExactly("MyTestInterceptorTwo.testRb");
+
+		// Registering from within a hook doesn't affect the invocation in progress
+		MyTestInterceptorOne interceptor0 = new MyTestInterceptorOne();
+		myInvocations.clear();
+		svc.registerAnonymousInterceptor(Pointcut.TEST_RB, (thePointcut, theArgs) -> svc.registerInterceptor(interceptor0));
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		assertThat(myInvocations).containsExactly("MyTestInterceptorTwo.testRb");
+
+		myInvocations.clear();
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		assertThat(myInvocations).containsExactly("MyTestInterceptorOne.testRb", "MyTestInterceptorTwo.testRb");
+
+		myInvocations.clear();
+		svc.unregisterAllInterceptors();
+		assertFalse(svc.hasHooks(Pointcut.TEST_RB));
+		assertTrue(svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B")));
+		assertThat(myInvocations).isEmpty();
+	}
+
+	@Test
+	public void testInterceptorThrowsCheckedException() {
+		class InterceptorThrowingCheckedException {
+			@Hook(Pointcut.TEST_RB)
+			public void test(String theValue) throws java.io.IOException {
+				throw new java.io.IOException(theValue);
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		svc.registerInterceptor(new InterceptorThrowingCheckedException());
+
+		try {
+			svc.callHooks(Pointcut.TEST_RB, new HookParams("A MESSAGE", "B"));
+			fail();
+		} catch (InternalErrorException e) {
+			assertThat(e.getMessage()).startsWith(Msg.code(1910));
+			assertEquals("A MESSAGE", e.getCause().getMessage());
+		}
+	}
+
 	@Test
 	public void testCallHooksInvokedWithNullParameters() {
 		InterceptorService svc = new InterceptorService();
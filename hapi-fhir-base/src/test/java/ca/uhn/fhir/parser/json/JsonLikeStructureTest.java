@@ -3,7 +3,9 @@ package ca.uhn.fhir.parser.json;
 import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -141,4 +143,30 @@ public class JsonLikeStructureTest {
 		assertEquals(value.getAsString(), "true");
 	}
 
+	@Test
+	public void testWriterPrimitives() throws IOException {
+		StringWriter writer = new StringWriter();
+		BaseJsonLikeWriter jsonWriter = new JacksonStructure().getJsonLikeWriter(writer);
+		jsonWriter.init();
+		jsonWriter.beginObject();
+		jsonWriter.write("string", "A string");
+		jsonWriter.write("long", 123L);
+		jsonWriter.write("boolean", true);
+		jsonWriter.write("nullBoolean", (Boolean) null);
+		jsonWriter.writeNumber("decimal", "1.50");
+		jsonWriter.beginArray("array");
+		jsonWriter.write("element");
+		jsonWriter.write(false);
+		jsonWriter.writeNumber("0.000100");
+		jsonWriter.writeNull();
+		jsonWriter.endArray();
+		jsonWriter.endObject();
+		jsonWriter.close();
+
+		assertEquals(
+			"{\"string\":\"A string\",\"long\":123,\"boolean\":true,\"nullBoolean\":null,\"decimal\":1.50,"
+				+ "\"array\":[\"element\",false,0.000100,null]}",
+			writer.toString());
+	}
+
 }
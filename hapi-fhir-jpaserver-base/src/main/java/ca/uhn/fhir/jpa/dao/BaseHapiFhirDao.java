@@ -917,7 +917,12 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 							() -> new IdentityHashMap<>());
 			existingParams = existingSearchParams.get(entity);
 			if (existingParams == null) {
-				existingParams = ResourceIndexedSearchParams.withLists(entity);
+				if (myStorageSettings.isSearchIndexDigestsEnabled()) {
+					// Index rows are only loaded for tables whose digest shows that they have changed
+					existingParams = ResourceIndexedSearchParams.withListsDeferringIndexRows(entity);
+				} else {
+					existingParams = ResourceIndexedSearchParams.withLists(entity);
+				}
 				/*
 				 * If we have lots of resource links, this proactively fetches the targets so
 				 * that we don't look them up one-by-one when comparing the new set to the
@@ -1079,6 +1084,11 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 				entity.clearAllParamsPopulated();
 			} else {
 
+				// Reindexing always compares all of the existing index rows, in case they are out of date
+				if (CURRENTLY_REINDEXING.get(theResource) == Boolean.TRUE) {
+					entity.setIndexDigests(null);
+				}
+
 				// Synchronize search param indexes
 				AddRemoveCount searchParamAddRemoveCount =
 						myDaoSearchParamSynchronizer.synchronizeSearchParamsToDatabase(
@@ -1728,6 +1738,9 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 			case JSONC:
 				resourceText = GZipUtil.decompress(theResourceBytes);
 				break;
+			case SMILE:
+				resourceText = SmileUtil.toJson(theResourceBytes);
+				break;
 			case DEL:
 			case ESR:
 				break;
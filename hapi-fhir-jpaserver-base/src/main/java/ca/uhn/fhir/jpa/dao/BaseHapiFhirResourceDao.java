@@ -63,6 +63,7 @@ import ca.uhn.fhir.jpa.search.PersistedJpaBundleProviderFactory;
 import ca.uhn.fhir.jpa.search.ResourceSearchUrlSvc;
 import ca.uhn.fhir.jpa.search.builder.SearchBuilder;
 import ca.uhn.fhir.jpa.search.cache.SearchCacheStatusEnum;
+import ca.uhn.fhir.jpa.searchparam.KeysetPosition;
 import ca.uhn.fhir.jpa.searchparam.MatchUrlService;
 import ca.uhn.fhir.jpa.searchparam.ResourceSearch;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
@@ -1707,6 +1708,7 @@ public abstract class BaseHapiFhirResourceDao<T extends IBaseResource> extends B
 	private void reindexOptimizeStorageHistoryEntity(ResourceTable entity, ResourceHistoryTable historyEntity) {
 		boolean changed = false;
 		if (historyEntity.getEncoding() == ResourceEncodingEnum.JSONC
+				|| historyEntity.getEncoding() == ResourceEncodingEnum.SMILE
 				|| historyEntity.getEncoding() == ResourceEncodingEnum.JSON) {
 			byte[] resourceBytes = historyEntity.getResource();
 			if (resourceBytes != null) {
@@ -2046,6 +2048,14 @@ public abstract class BaseHapiFhirResourceDao<T extends IBaseResource> extends B
 			} else if (theRequest.getServer().getDefaultPageSize() != null) {
 				theParams.setCount(theRequest.getServer().getDefaultPageSize());
 			}
+
+			String[] searchAfter = theRequest.getParameters().get(Constants.PARAM_SEARCH_AFTER);
+			if (searchAfter != null && searchAfter.length > 0) {
+				theParams.setKeysetPosition(KeysetPosition.fromToken(searchAfter[0]));
+				if (theParams.getCount() == null && isPagingProviderDatabaseBacked(theRequest)) {
+					theParams.setCount(theRequest.getServer().getPagingProvider().getDefaultPageSize());
+				}
+			}
 		}
 	}
 
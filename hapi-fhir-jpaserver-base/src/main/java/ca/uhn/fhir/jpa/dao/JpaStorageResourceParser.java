@@ -43,6 +43,7 @@ import ca.uhn.fhir.jpa.model.entity.ResourceTag;
 import ca.uhn.fhir.jpa.model.entity.TagDefinition;
 import ca.uhn.fhir.jpa.model.entity.TagTypeEnum;
 import ca.uhn.fhir.jpa.partition.IPartitionLookupSvc;
+import ca.uhn.fhir.jpa.util.MemoryCacheService;
 import ca.uhn.fhir.model.api.IResource;
 import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
 import ca.uhn.fhir.model.api.Tag;
@@ -52,7 +53,6 @@ import ca.uhn.fhir.model.primitive.IdDt;
 import ca.uhn.fhir.model.primitive.InstantDt;
 import ca.uhn.fhir.model.valueset.BundleEntryTransactionMethodEnum;
 import ca.uhn.fhir.parser.DataFormatException;
-import ca.uhn.fhir.parser.IParser;
 import ca.uhn.fhir.parser.LenientErrorHandler;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.util.IMetaTagSorter;
@@ -64,16 +64,24 @@ import org.hl7.fhir.instance.model.api.IAnyResource;
 import org.hl7.fhir.instance.model.api.IBaseCoding;
 import org.hl7.fhir.instance.model.api.IBaseMetaType;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IDomainResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static ca.uhn.fhir.jpa.dao.BaseHapiFhirDao.decodeResource;
 import static java.util.Objects.nonNull;
@@ -104,6 +112,9 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 	@Autowired
 	IMetaTagSorter myMetaTagSorter;
 
+	@Autowired
+	private MemoryCacheService myMemoryCacheService;
+
 	@Override
 	public IBaseResource toResource(IBasePersistedResource theEntity, boolean theForHistoryOperation) {
 		RuntimeResourceDefinition type = myFhirContext.getResourceDefinition(theEntity.getResourceType());
@@ -124,6 +135,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 		ResourceEncodingEnum resourceEncoding;
 		@Nullable Collection<? extends BaseTag> tagList = Collections.emptyList();
 		long version;
+		Date versionUpdated;
 		String provenanceSourceUri = null;
 		String provenanceRequestId = null;
 
@@ -148,6 +160,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 					tagList = null;
 			}
 			version = history.getVersion();
+			versionUpdated = history.getUpdatedDate();
 			if (history.getProvenance() != null) {
 				provenanceRequestId = history.getProvenance().getRequestId();
 				provenanceSourceUri = history.getProvenance().getSourceUri();
@@ -188,6 +201,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 					break;
 			}
 			version = history.getVersion();
+			versionUpdated = history.getUpdatedDate();
 			if (history.getProvenance() != null) {
 				provenanceRequestId = history.getProvenance().getRequestId();
 				provenanceSourceUri = history.getProvenance().getSourceUri();
@@ -199,6 +213,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			resourceText = view.getResourceTextVc();
 			resourceEncoding = view.getEncoding();
 			version = view.getVersion();
+			versionUpdated = view.getUpdatedDate();
 			provenanceRequestId = view.getProvenanceRequestId();
 			provenanceSourceUri = view.getProvenanceSourceUri();
 			switch (myStorageSettings.getTagStorageMode()) {
@@ -217,30 +232,114 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			return null;
 		}
 
-		// 2. get The text
-		String decodedResourceText = decodedResourceText(resourceBytes, resourceText, resourceEncoding);
-
-		// 3. Use the appropriate custom type if one is specified in the context
+		// 2. Use the appropriate custom type if one is specified in the context
 		Class<R> resourceType = determineTypeToParse(theResourceType, tagList);
 
-		// 4. parse the text to FHIR
-		R retVal = parseResource(theEntity, resourceEncoding, decodedResourceText, resourceType);
+		// 3. Reuse a previously parsed copy of this exact version if the parsed resource cache is enabled
+		String parsedResourceCacheKey =
+				createParsedResourceCacheKey(theEntity, resourceEncoding, resourceType, version, versionUpdated);
+		R retVal = getParsedResourceFromCache(theEntity, parsedResourceCacheKey);
+
+		if (retVal == null) {
+			// 4. get The text (Smile and JSON bytes are parsed directly, without first decoding them to text)
+			byte[] bytesToParse = null;
+			String decodedResourceText = null;
+			if (resourceText == null && resourceBytes != null && isParsedFromBytes(resourceEncoding)) {
+				bytesToParse = resourceBytes;
+			} else {
+				decodedResourceText = decodedResourceText(resourceBytes, resourceText, resourceEncoding);
+			}
+
+			// 5. parse the text to FHIR
+			retVal = parseResource(theEntity, resourceEncoding, decodedResourceText, bytesToParse, resourceType);
+			putParsedResourceInCache(theEntity, parsedResourceCacheKey, retVal);
+		}
 
-		// 5. fill MetaData
+		// 6. fill MetaData
 		retVal = populateResourceMetadata(theEntity, theForHistoryOperation, tagList, version, retVal);
 
-		// 6. Handle source (provenance)
+		// 7. Handle source (provenance)
 		MetaUtil.populateResourceSource(myFhirContext, provenanceSourceUri, provenanceRequestId, retVal);
 
-		// 7. Add partition information
+		// 8. Add partition information
 		populateResourcePartitionInformation(theEntity, retVal);
 
-		// 8. sort tags, security labels and profiles
+		// 9. sort tags, security labels and profiles
 		myMetaTagSorter.sort(retVal.getMeta());
 
 		return retVal;
 	}
 
+	/**
+	 * Creates the key used to cache the parsed body of a resource version, or returns <code>null</code>
+	 * if the parsed resource cache is disabled or the resource can't be cached. The content stored for
+	 * a given version never changes, except when the version is rewritten (which also changes its
+	 * last updated timestamp), so the key doesn't need to be invalidated when the resource is updated,
+	 * deleted or changed by another server in the cluster.
+	 */
+	@Nullable
+	private <R extends IBaseResource> String createParsedResourceCacheKey(
+			IBaseResourceEntity theEntity,
+			ResourceEncodingEnum theResourceEncoding,
+			Class<R> theResourceType,
+			long theVersion,
+			@Nullable Date theVersionUpdated) {
+		if (!myStorageSettings.isParsedResourceCacheEnabled()
+				|| theResourceEncoding == ResourceEncodingEnum.ESR
+				|| theResourceEncoding == ResourceEncodingEnum.DEL
+				|| theEntity.getResourceId() == null
+				|| theVersionUpdated == null) {
+			return null;
+		}
+
+		// FhirTerser#clone can't copy custom types, so those are always parsed
+		FhirContext context = getContext(theEntity.getFhirVersion());
+		if (!theResourceType.equals(
+				context.getResourceDefinition(theEntity.getResourceType()).getImplementingClass())) {
+			return null;
+		}
+
+		return theEntity.getResourceType() + "/" + theEntity.getResourceId() + "/" + theVersion + "/"
+				+ theVersionUpdated.getTime();
+	}
+
+	/**
+	 * The cache holds resources which are never handed out, so every caller gets its own copy
+	 * which it is free to modify
+	 */
+	@Nullable
+	private <R extends IBaseResource> R getParsedResourceFromCache(
+			IBaseResourceEntity theEntity, @Nullable String theCacheKey) {
+		if (theCacheKey == null) {
+			return null;
+		}
+		R cached = myMemoryCacheService.getIfPresent(MemoryCacheService.CacheEnum.PARSED_RESOURCE, theCacheKey);
+		if (cached == null) {
+			return null;
+		}
+		return getContext(theEntity.getFhirVersion()).newTerser().clone(cached);
+	}
+
+	private <R extends IBaseResource> void putParsedResourceInCache(
+			IBaseResourceEntity theEntity, @Nullable String theCacheKey, R theResource) {
+		if (theCacheKey == null) {
+			return;
+		}
+
+		/*
+		 * References to contained resources hold the contained resource instance, which
+		 * FhirTerser#clone doesn't carry over, so resources with contained resources
+		 * are always parsed
+		 */
+		if (!(theResource instanceof IDomainResource)
+				|| !((IDomainResource) theResource).getContained().isEmpty()) {
+			return;
+		}
+
+		R copy = getContext(theEntity.getFhirVersion()).newTerser().clone(theResource);
+		myMemoryCacheService.put(MemoryCacheService.CacheEnum.PARSED_RESOURCE, theCacheKey, copy);
+	}
+
 	private <R extends IBaseResource> void populateResourcePartitionInformation(
 			IBaseResourceEntity theEntity, R retVal) {
 		if (myPartitionSettings.isPartitioningEnabled()) {
@@ -260,6 +359,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			IBaseResourceEntity theEntity,
 			ResourceEncodingEnum theResourceEncoding,
 			String theDecodedResourceText,
+			@Nullable byte[] theResourceBytes,
 			Class<R> theResourceType) {
 		R retVal;
 		if (theResourceEncoding == ResourceEncodingEnum.ESR) {
@@ -276,11 +376,17 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 
 		} else if (theResourceEncoding != ResourceEncodingEnum.DEL) {
 
-			IParser parser = new TolerantJsonParser(
+			TolerantJsonParser parser = new TolerantJsonParser(
 					getContext(theEntity.getFhirVersion()), LENIENT_ERROR_HANDLER, theEntity.getId());
 
 			try {
-				retVal = parser.parseResource(theResourceType, theDecodedResourceText);
+				if (theResourceBytes != null && theResourceEncoding == ResourceEncodingEnum.SMILE) {
+					retVal = parseSmileResource(parser, theResourceType, theResourceBytes);
+				} else if (theResourceBytes != null) {
+					retVal = parseJsonResource(parser, theResourceType, theResourceEncoding, theResourceBytes);
+				} else {
+					retVal = parser.parseResource(theResourceType, theDecodedResourceText);
+				}
 			} catch (Exception e) {
 				StringBuilder b = new StringBuilder();
 				b.append("Failed to parse database resource[");
@@ -307,6 +413,60 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 		return retVal;
 	}
 
+	/**
+	 * Parses Smile content directly into a resource. If this fails, the content is converted
+	 * to JSON text and handed to the regular parse, so that the {@link TolerantJsonParser}
+	 * is able to apply its workarounds for invalid content.
+	 */
+	private static <R extends IBaseResource> R parseSmileResource(
+			TolerantJsonParser theParser, Class<R> theResourceType, byte[] theSmileBytes) {
+		try {
+			return SmileUtil.parseResource(theParser, theResourceType, theSmileBytes);
+		} catch (DataFormatException e) {
+			ourLog.debug("Failed to parse Smile content directly, falling back to JSON text: {}", e.getMessage());
+			return theParser.parseResource(theResourceType, SmileUtil.toJson(theSmileBytes));
+		}
+	}
+
+	/**
+	 * Parses JSON or compressed JSON content by reading it straight from the stored bytes,
+	 * which avoids building an intermediate String holding the whole resource. If this fails,
+	 * the content is decoded to text and handed to the regular parse, so that the
+	 * {@link TolerantJsonParser} is able to apply its workarounds for invalid content.
+	 */
+	private static <R extends IBaseResource> R parseJsonResource(
+			TolerantJsonParser theParser,
+			Class<R> theResourceType,
+			ResourceEncodingEnum theResourceEncoding,
+			byte[] theResourceBytes) {
+		try (Reader reader = newResourceReader(theResourceEncoding, theResourceBytes)) {
+			return theParser.parseResource(theResourceType, reader);
+		} catch (DataFormatException | IOException e) {
+			ourLog.debug("Failed to parse JSON content directly, falling back to JSON text: {}", e.getMessage());
+			return theParser.parseResource(theResourceType, decodeResource(theResourceBytes, theResourceEncoding));
+		}
+	}
+
+	private static Reader newResourceReader(ResourceEncodingEnum theResourceEncoding, byte[] theResourceBytes)
+			throws IOException {
+		InputStream inputStream = new ByteArrayInputStream(theResourceBytes);
+		if (theResourceEncoding == ResourceEncodingEnum.JSONC) {
+			inputStream = new GZIPInputStream(inputStream);
+		}
+		return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isParsedFromBytes(ResourceEncodingEnum theResourceEncoding) {
+		switch (theResourceEncoding) {
+			case JSON:
+			case JSONC:
+			case SMILE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private <R extends IBaseResource> Class<R> determineTypeToParse(
 			Class<R> theResourceType, @Nullable Collection<? extends BaseTag> tagList) {
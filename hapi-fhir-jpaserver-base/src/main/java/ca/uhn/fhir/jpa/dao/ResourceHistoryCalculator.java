@@ -124,6 +124,8 @@ public class ResourceHistoryCalculator {
 				return theEncodedResource.getBytes(StandardCharsets.UTF_8);
 			case JSONC:
 				return GZipUtil.compress(theEncodedResource);
+			case SMILE:
+				return SmileUtil.fromJson(theEncodedResource);
 			default:
 				return new byte[0];
 		}
@@ -27,29 +27,52 @@ import ca.uhn.fhir.jpa.dao.data.IResourceIndexedComboStringUniqueDao;
 import ca.uhn.fhir.jpa.model.entity.BaseResourceIndex;
 import ca.uhn.fhir.jpa.model.entity.BaseResourceIndexedSearchParam;
 import ca.uhn.fhir.jpa.model.entity.ResourceIndexedComboStringUnique;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedComboTokenNonUnique;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamCoords;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamDate;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamNumber;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamQuantity;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamQuantityNormalized;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamString;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamToken;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamUri;
 import ca.uhn.fhir.jpa.model.entity.ResourceTable;
 import ca.uhn.fhir.jpa.model.entity.StorageSettings;
 import ca.uhn.fhir.jpa.searchparam.extractor.ResourceIndexedSearchParams;
 import ca.uhn.fhir.jpa.util.AddRemoveCount;
 import ca.uhn.fhir.rest.server.exceptions.ResourceVersionConflictException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.PersistenceContextType;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 @Service
 public class DaoSearchParamSynchronizer {
+	private static final HashFunction INDEX_DIGEST_HASH_FUNCTION = Hashing.murmur3_128(0);
 
 	@PersistenceContext(type = PersistenceContextType.TRANSACTION)
 	protected EntityManager myEntityManager;
@@ -69,21 +92,91 @@ public class DaoSearchParamSynchronizer {
 			ResourceIndexedSearchParams existingParams) {
 		AddRemoveCount retVal = new AddRemoveCount();
 
-		synchronize(theEntity, retVal, theParams.myStringParams, existingParams.myStringParams, null);
-		synchronize(theEntity, retVal, theParams.myTokenParams, existingParams.myTokenParams, null);
-		synchronize(theEntity, retVal, theParams.myNumberParams, existingParams.myNumberParams, null);
-		synchronize(theEntity, retVal, theParams.myQuantityParams, existingParams.myQuantityParams, null);
-		synchronize(
+		applyIndexWriteJdbcBatchSize();
+
+		IndexDigests digests = new IndexDigests(theEntity.getIndexDigests());
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myStringParams,
+				existingParams,
+				existingParams.myStringParams,
+				ResourceIndexedSearchParamString.class,
+				digests,
+				"STR");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myTokenParams,
+				existingParams,
+				existingParams.myTokenParams,
+				ResourceIndexedSearchParamToken.class,
+				digests,
+				"TOK");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myNumberParams,
+				existingParams,
+				existingParams.myNumberParams,
+				ResourceIndexedSearchParamNumber.class,
+				digests,
+				"NUM");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myQuantityParams,
+				existingParams,
+				existingParams.myQuantityParams,
+				ResourceIndexedSearchParamQuantity.class,
+				digests,
+				"QTY");
+		synchronizeIfChanged(
 				theEntity,
 				retVal,
 				theParams.myQuantityNormalizedParams,
+				existingParams,
 				existingParams.myQuantityNormalizedParams,
-				null);
-		synchronize(theEntity, retVal, theParams.myDateParams, existingParams.myDateParams, null);
-		synchronize(theEntity, retVal, theParams.myUriParams, existingParams.myUriParams, null);
-		synchronize(theEntity, retVal, theParams.myCoordsParams, existingParams.myCoordsParams, null);
+				ResourceIndexedSearchParamQuantityNormalized.class,
+				digests,
+				"QTYN");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myDateParams,
+				existingParams,
+				existingParams.myDateParams,
+				ResourceIndexedSearchParamDate.class,
+				digests,
+				"DATE");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myUriParams,
+				existingParams,
+				existingParams.myUriParams,
+				ResourceIndexedSearchParamUri.class,
+				digests,
+				"URI");
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myCoordsParams,
+				existingParams,
+				existingParams.myCoordsParams,
+				ResourceIndexedSearchParamCoords.class,
+				digests,
+				"COORDS");
 		synchronize(theEntity, retVal, theParams.myLinks, existingParams.myLinks, null);
-		synchronize(theEntity, retVal, theParams.myComboTokenNonUnique, existingParams.myComboTokenNonUnique, null);
+		synchronizeIfChanged(
+				theEntity,
+				retVal,
+				theParams.myComboTokenNonUnique,
+				existingParams,
+				existingParams.myComboTokenNonUnique,
+				ResourceIndexedComboTokenNonUnique.class,
+				digests,
+				"CMBTOK");
 		synchronize(
 				theEntity,
 				retVal,
@@ -94,9 +187,28 @@ public class DaoSearchParamSynchronizer {
 		// make sure links are indexed
 		theEntity.setResourceLinks(theParams.myLinks);
 
+		theEntity.setIndexDigests(myStorageSettings.isSearchIndexDigestsEnabled() ? digests.toString() : null);
+
 		return retVal;
 	}
 
+	/**
+	 * Index rows are written by Hibernate when the session is flushed, ordered by table so that
+	 * the inserts for each index table are sent as JDBC batches. If a larger batch size has been
+	 * configured for index writes, it is applied to the current session here so that large
+	 * transactions need far fewer round trips to write their index rows.
+	 */
+	private void applyIndexWriteJdbcBatchSize() {
+		Integer batchSize = myStorageSettings.getIndexWriteJdbcBatchSize();
+		if (batchSize == null || batchSize <= 0) {
+			return;
+		}
+		Session session = myEntityManager.unwrap(Session.class);
+		if (session != null && !batchSize.equals(session.getJdbcBatchSize())) {
+			session.setJdbcBatchSize(batchSize);
+		}
+	}
+
 	@VisibleForTesting
 	public void setEntityManager(EntityManager theEntityManager) {
 		myEntityManager = theEntityManager;
@@ -107,6 +219,160 @@ public class DaoSearchParamSynchronizer {
 		myStorageSettings = theStorageSettings;
 	}
 
+	/**
+	 * Synchronizes one index table, unless {@link JpaStorageSettings#isSearchIndexDigestsEnabled()} is
+	 * set and the digest of the new index rows matches the one stored when the table was last written.
+	 * If loading the existing rows was deferred (see
+	 * {@link ResourceIndexedSearchParams#withListsDeferringIndexRows(ResourceTable)}), they are only
+	 * loaded once it is known that the table has changed.
+	 */
+	private <T extends BaseResourceIndex> void synchronizeIfChanged(
+			ResourceTable theEntity,
+			AddRemoveCount theAddRemoveCount,
+			Collection<T> theNewParams,
+			ResourceIndexedSearchParams theExistingParams,
+			Collection<T> theExistingParamsCollection,
+			Class<T> theIndexType,
+			IndexDigests theDigests,
+			String theIndexKey) {
+		if (myStorageSettings.isSearchIndexDigestsEnabled()) {
+			prepareNewParams(theEntity, theNewParams);
+			String newDigest = calculateIndexDigest(theNewParams);
+			String previousDigest = theDigests.put(theIndexKey, newDigest);
+			if (newDigest.equals(previousDigest)) {
+				return;
+			}
+		}
+		if (theExistingParams.isDeferred(theExistingParamsCollection)) {
+			loadExistingParams(theEntity, theExistingParamsCollection, theIndexType);
+		}
+		synchronize(theEntity, theAddRemoveCount, theNewParams, theExistingParamsCollection, null);
+	}
+
+	/**
+	 * Loads the current index rows of one type for the given resource. A query is used rather than
+	 * the entity's lazy collection so that rows written earlier in the same transaction (which are
+	 * flushed before the query runs) are seen if the resource is updated more than once.
+	 */
+	private <T extends BaseResourceIndex> void loadExistingParams(
+			ResourceTable theEntity, Collection<T> theExistingParams, Class<T> theIndexType) {
+		String resourceIdAttribute =
+				theIndexType == ResourceIndexedComboTokenNonUnique.class ? "myResourceId" : "myResourcePid";
+		TypedQuery<T> query = myEntityManager.createQuery(
+				"SELECT t FROM " + theIndexType.getSimpleName() + " t WHERE t." + resourceIdAttribute + " = :resId",
+				theIndexType);
+		query.setParameter("resId", theEntity.getId());
+		theExistingParams.clear();
+		theExistingParams.addAll(query.getResultList());
+	}
+
+	/**
+	 * Calculates a digest of a collection of index rows which doesn't depend on the order of the rows.
+	 * Each row is hashed (128 bits) from the same fields that are used to compare rows when
+	 * synchronizing them (see {@link #getEqualityFields(BaseResourceIndex)}), and the sorted row hashes
+	 * are combined along with whether index storage is currently optimized, since existing rows are
+	 * rewritten if that setting changes.
+	 */
+	private <T extends BaseResourceIndex> String calculateIndexDigest(Collection<T> theNewParams) {
+		List<HashCode> rowHashes = new ArrayList<>(theNewParams.size());
+		for (T next : theNewParams) {
+			Hasher rowHasher = INDEX_DIGEST_HASH_FUNCTION.newHasher();
+			for (Object nextField : getEqualityFields(next)) {
+				if (nextField == null) {
+					rowHasher.putByte((byte) 0);
+				} else {
+					String value = nextField.toString();
+					rowHasher.putByte((byte) 1);
+					rowHasher.putInt(value.length());
+					rowHasher.putString(value, StandardCharsets.UTF_8);
+				}
+			}
+			rowHashes.add(rowHasher.hash());
+		}
+		rowHashes.sort(Comparator.comparing(HashCode::toString));
+
+		Hasher hasher = INDEX_DIGEST_HASH_FUNCTION.newHasher();
+		hasher.putBoolean(myStorageSettings.isIndexStorageOptimized());
+		hasher.putInt(rowHashes.size());
+		for (HashCode next : rowHashes) {
+			hasher.putBytes(next.asBytes());
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * Returns the fields which the <code>equals</code> method of each index row type compares, so that
+	 * two rows which would be considered different when synchronizing also have different digests
+	 */
+	private static Object[] getEqualityFields(BaseResourceIndex theParam) {
+		if (theParam instanceof ResourceIndexedSearchParamString) {
+			ResourceIndexedSearchParamString p = (ResourceIndexedSearchParamString) theParam;
+			return new Object[] {
+				p.getValueExact(),
+				p.getHashIdentity(),
+				p.getHashExact(),
+				p.getHashNormalizedPrefix(),
+				p.getValueNormalized(),
+				p.isMissing()
+			};
+		} else if (theParam instanceof ResourceIndexedSearchParamToken) {
+			ResourceIndexedSearchParamToken p = (ResourceIndexedSearchParamToken) theParam;
+			return new Object[] {
+				p.getHashIdentity(), p.getHashSystem(), p.getHashValue(), p.getHashSystemAndValue(), p.isMissing()
+			};
+		} else if (theParam instanceof ResourceIndexedSearchParamNumber) {
+			ResourceIndexedSearchParamNumber p = (ResourceIndexedSearchParamNumber) theParam;
+			Double value = p.getValue() != null ? p.getValue().doubleValue() : null;
+			return new Object[] {p.getHashIdentity(), value, p.isMissing()};
+		} else if (theParam instanceof ResourceIndexedSearchParamQuantity) {
+			ResourceIndexedSearchParamQuantity p = (ResourceIndexedSearchParamQuantity) theParam;
+			return new Object[] {
+				p.getHashIdentity(),
+				p.getHashIdentityAndUnits(),
+				p.getHashIdentitySystemAndUnits(),
+				p.isMissing(),
+				p.getValue()
+			};
+		} else if (theParam instanceof ResourceIndexedSearchParamQuantityNormalized) {
+			ResourceIndexedSearchParamQuantityNormalized p = (ResourceIndexedSearchParamQuantityNormalized) theParam;
+			return new Object[] {
+				p.getHashIdentity(),
+				p.getHashIdentityAndUnits(),
+				p.getHashIdentitySystemAndUnits(),
+				p.isMissing(),
+				p.getValue()
+			};
+		} else if (theParam instanceof ResourceIndexedSearchParamDate) {
+			ResourceIndexedSearchParamDate p = (ResourceIndexedSearchParamDate) theParam;
+			return new Object[] {
+				p.getHashIdentity(),
+				p.getValueHigh() != null ? p.getValueHigh().getTime() : null,
+				p.getValueLow() != null ? p.getValueLow().getTime() : null,
+				p.getValueLowDateOrdinal(),
+				p.getValueHighDateOrdinal(),
+				p.isMissing()
+			};
+		} else if (theParam instanceof ResourceIndexedSearchParamUri) {
+			ResourceIndexedSearchParamUri p = (ResourceIndexedSearchParamUri) theParam;
+			return new Object[] {p.getUri(), p.getHashUri(), p.getHashIdentity(), p.isMissing()};
+		} else if (theParam instanceof ResourceIndexedSearchParamCoords) {
+			ResourceIndexedSearchParamCoords p = (ResourceIndexedSearchParamCoords) theParam;
+			return new Object[] {p.getHashIdentity(), p.getLatitude(), p.getLongitude(), p.isMissing()};
+		} else if (theParam instanceof ResourceIndexedComboTokenNonUnique) {
+			ResourceIndexedComboTokenNonUnique p = (ResourceIndexedComboTokenNonUnique) theParam;
+			return new Object[] {p.getHashComplete()};
+		}
+		throw new IllegalArgumentException(Msg.code(2800) + "Can't calculate an index digest for "
+				+ theParam.getClass().getSimpleName());
+	}
+
+	private <T extends BaseResourceIndex> void prepareNewParams(ResourceTable theEntity, Collection<T> theNewParams) {
+		for (T next : theNewParams) {
+			next.setPartitionId(theEntity.getPartitionId());
+			next.calculateHashes();
+		}
+	}
+
 	private <T extends BaseResourceIndex> void synchronize(
 			ResourceTable theEntity,
 			AddRemoveCount theAddRemoveCount,
@@ -114,10 +380,7 @@ public class DaoSearchParamSynchronizer {
 			Collection<T> theExistingParams,
 			@Nullable IPreSaveHook<T> theAddParamPreSaveHook) {
 		Collection<T> newParams = theNewParams;
-		for (T next : newParams) {
-			next.setPartitionId(theEntity.getPartitionId());
-			next.calculateHashes();
-		}
+		prepareNewParams(theEntity, newParams);
 
 		/*
 		 * It's technically possible that the existing index collection
@@ -280,6 +543,42 @@ public class DaoSearchParamSynchronizer {
 		return retVal;
 	}
 
+	/**
+	 * The index digests stored in {@link ResourceTable#getIndexDigests()}, in the
+	 * form <code>KEY=digest;KEY=digest</code>
+	 */
+	private static class IndexDigests {
+		private final Map<String, String> myDigests = new TreeMap<>();
+
+		IndexDigests(@Nullable String theIndexDigests) {
+			if (isNotBlank(theIndexDigests)) {
+				for (String next : theIndexDigests.split(";")) {
+					int equalsIdx = next.indexOf('=');
+					if (equalsIdx > 0) {
+						myDigests.put(next.substring(0, equalsIdx), next.substring(equalsIdx + 1));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Stores a new digest and returns the previous one
+		 */
+		String put(String theIndexKey, String theDigest) {
+			return myDigests.put(theIndexKey, theDigest);
+		}
+
+		@Override
+		public String toString() {
+			if (myDigests.isEmpty()) {
+				return null;
+			}
+			return myDigests.entrySet().stream()
+					.map(t -> t.getKey() + "=" + t.getValue())
+					.collect(Collectors.joining(";"));
+		}
+	}
+
 	private interface IPreSaveHook<T> {
 
 		void preSave(Collection<T> theParamsToRemove, Collection<T> theParamsToAdd);
@@ -160,30 +160,46 @@ public class IdHelperService implements IIdHelperService<JpaPid> {
 		assert myDontCheckActiveTransactionForUnitTest || TransactionSynchronizationManager.isSynchronizationActive()
 				: "no transaction active";
 
-		String resourceIdToUse = theResourceId;
-		if (resourceIdToUse.contains("/")) {
-			resourceIdToUse = theResourceId.substring(resourceIdToUse.indexOf("/") + 1);
-		}
-		IdDt id = new IdDt(theResourceType, resourceIdToUse);
+		IdDt id = new IdDt(theResourceType, stripResourceType(theResourceId));
 		Map<String, List<IResourceLookup<JpaPid>>> matches =
 				translateForcedIdToPids(theRequestPartitionId, Collections.singletonList(id), theExcludeDeleted);
 
 		// We only pass 1 input in so only 0..1 will come back
-		if (matches.isEmpty() || !matches.containsKey(resourceIdToUse)) {
-			throw new ResourceNotFoundException(Msg.code(2001) + "Resource " + id + " is not known");
+		List<IResourceLookup<JpaPid>> idMatches = matches.get(id.getIdPart());
+		if (idMatches != null && matches.size() > 1) {
+			throw newNonUniqueForcedIdException();
 		}
 
-		if (matches.size() > 1 || matches.get(resourceIdToUse).size() > 1) {
-			/*
-			 *  This means that:
-			 *  1. There are two resources with the exact same resource type and forced id
-			 *  2. The unique constraint on this column-pair has been dropped
-			 */
-			String msg = myFhirCtx.getLocalizer().getMessage(IdHelperService.class, "nonUniqueForcedId");
-			throw new PreconditionFailedException(Msg.code(1099) + msg);
+		return getSingleMatchOrThrow(id, idMatches);
+	}
+
+	private static String stripResourceType(String theResourceId) {
+		if (theResourceId.contains("/")) {
+			return theResourceId.substring(theResourceId.indexOf("/") + 1);
 		}
+		return theResourceId;
+	}
 
-		return matches.get(resourceIdToUse).get(0);
+	@Nonnull
+	private IResourceLookup<JpaPid> getSingleMatchOrThrow(
+			IdDt theId, @Nullable List<IResourceLookup<JpaPid>> theMatches) {
+		if (theMatches == null || theMatches.isEmpty()) {
+			throw new ResourceNotFoundException(Msg.code(2001) + "Resource " + theId + " is not known");
+		}
+		if (theMatches.size() > 1) {
+			throw newNonUniqueForcedIdException();
+		}
+		return theMatches.get(0);
+	}
+
+	private PreconditionFailedException newNonUniqueForcedIdException() {
+		/*
+		 *  This means that:
+		 *  1. There are two resources with the exact same resource type and forced id
+		 *  2. The unique constraint on this column-pair has been dropped
+		 */
+		String msg = myFhirCtx.getLocalizer().getMessage(IdHelperService.class, "nonUniqueForcedId");
+		return new PreconditionFailedException(Msg.code(1099) + msg);
 	}
 
 	/**
@@ -213,6 +229,15 @@ public class IdHelperService implements IIdHelperService<JpaPid> {
 		Validate.notNull(theIds, "theIds cannot be null");
 		Validate.isTrue(!theIds.isEmpty(), "theIds must not be empty");
 
+		Map<String, JpaPid> prefetchedIds = Collections.emptyMap();
+		Map<String, List<IResourceLookup<JpaPid>>> forcedIdMatches = Collections.emptyMap();
+		if (!myStorageSettings.isDeleteEnabled()) {
+			prefetchedIds = prefetchUncachedForcedIds(theRequestPartitionId, theResourceType, theIds);
+		} else {
+			forcedIdMatches =
+					translateForcedIdsToPids(theRequestPartitionId, theResourceType, theIds, theExcludeDeleted);
+		}
+
 		Map<String, JpaPid> retVals = new HashMap<>();
 		for (String id : theIds) {
 			JpaPid retVal;
@@ -224,14 +249,20 @@ public class IdHelperService implements IIdHelperService<JpaPid> {
 				// is a forced id
 				// we must resolve!
 				if (myStorageSettings.isDeleteEnabled()) {
-					retVal = resolveResourceIdentity(theRequestPartitionId, theResourceType, id, theExcludeDeleted)
+					IdDt forcedId = new IdDt(theResourceType, stripResourceType(id));
+					retVal = getSingleMatchOrThrow(forcedId, forcedIdMatches.get(forcedId.getIdPart()))
 							.getPersistentId();
 					retVals.put(id, retVal);
 				} else {
 					// fetch from cache... adding to cache if not available
 					String key = toForcedIdToPidKey(theRequestPartitionId, theResourceType, id);
+					Map<String, JpaPid> prefetched = prefetchedIds;
 					retVal = myMemoryCacheService.getThenPutAfterCommit(
 							MemoryCacheService.CacheEnum.FORCED_ID_TO_PID, key, t -> {
+								JpaPid prefetchedId = prefetched.get(id);
+								if (prefetchedId != null) {
+									return prefetchedId;
+								}
 								List<IIdType> ids = Collections.singletonList(new IdType(theResourceType, id));
 								// fetches from cache using a function that checks cache first...
 								List<JpaPid> resolvedIds =
@@ -249,6 +280,79 @@ public class IdHelperService implements IIdHelperService<JpaPid> {
 		return retVals;
 	}
 
+	/**
+	 * When delete is enabled, resolved forced IDs can't be cached, since the resource can be deleted
+	 * and the ID reused. All of the given forced IDs are therefore resolved together with one (chunked)
+	 * query instead of issuing one query per ID.
+	 *
+	 * @return A map of forced ID (without resource type) to every resource matching it
+	 */
+	@Nonnull
+	private Map<String, List<IResourceLookup<JpaPid>>> translateForcedIdsToPids(
+			@Nonnull RequestPartitionId theRequestPartitionId,
+			String theResourceType,
+			List<String> theIds,
+			boolean theExcludeDeleted) {
+		List<IIdType> forcedIds = new ArrayList<>();
+		for (String id : theIds) {
+			if (idRequiresForcedId(id)) {
+				forcedIds.add(new IdDt(theResourceType, stripResourceType(id)));
+			}
+		}
+
+		Map<String, List<IResourceLookup<JpaPid>>> retVal = new HashMap<>();
+		new QueryChunker<IIdType>()
+				.chunk(
+						forcedIds,
+						SearchBuilder.getMaximumPageSize() / 2,
+						ids -> retVal.putAll(translateForcedIdToPids(theRequestPartitionId, ids, theExcludeDeleted)));
+		return retVal;
+	}
+
+	/**
+	 * When more than one of the given forced IDs is missing from the {@link MemoryCacheService.CacheEnum#FORCED_ID_TO_PID}
+	 * cache, resolves all of the misses with a single (chunked) query instead of issuing one query per miss.
+	 * IDs which can't be found are simply absent from the returned map. They are deliberately not
+	 * negative-cached, since a forced ID which doesn't exist yet can be created by a later client-assigned
+	 * ID update.
+	 *
+	 * @return A map of forced ID to resolved persistent ID
+	 */
+	@Nonnull
+	private Map<String, JpaPid> prefetchUncachedForcedIds(
+			@Nonnull RequestPartitionId theRequestPartitionId, String theResourceType, List<String> theIds) {
+		Map<String, String> keyToId = new HashMap<>();
+		for (String id : theIds) {
+			if (idRequiresForcedId(id)) {
+				keyToId.put(toForcedIdToPidKey(theRequestPartitionId, theResourceType, id), id);
+			}
+		}
+		if (keyToId.size() < 2) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, JpaPid> cached =
+				myMemoryCacheService.getAllPresent(MemoryCacheService.CacheEnum.FORCED_ID_TO_PID, keyToId.keySet());
+		List<IIdType> uncachedIds = new ArrayList<>();
+		keyToId.forEach((key, id) -> {
+			if (!cached.containsKey(key)) {
+				uncachedIds.add(new IdType(theResourceType, id));
+			}
+		});
+		if (uncachedIds.size() < 2) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, JpaPid> retVal = new HashMap<>();
+		for (JpaPid next : resolveResourcePersistentIdsWithCache(theRequestPartitionId, uncachedIds, true)) {
+			IIdType associatedResourceId = next.getAssociatedResourceId();
+			if (associatedResourceId != null) {
+				retVal.put(associatedResourceId.getIdPart(), next);
+			}
+		}
+		return retVal;
+	}
+
 	/**
 	 * Given a resource type and ID, determines the internal persistent ID for the resource.
 	 *
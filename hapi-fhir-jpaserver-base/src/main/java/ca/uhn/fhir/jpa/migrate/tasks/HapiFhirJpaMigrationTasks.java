@@ -152,6 +152,11 @@ public class HapiFhirJpaMigrationTasks extends BaseMigrationTasks<VersionEnum> {
 				.modifyColumn("20241023.50", "PACKAGE_DESC")
 				.nullable()
 				.withType(ColumnTypeEnum.STRING, 512);
+
+		version.onTable("HFJ_RESOURCE")
+				.addColumn("20241120.10", "SP_INDEX_DIGESTS")
+				.nullable()
+				.type(ColumnTypeEnum.STRING, 500);
 	}
 
 	protected void init740() {
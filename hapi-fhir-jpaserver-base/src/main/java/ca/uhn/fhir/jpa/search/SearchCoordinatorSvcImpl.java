@@ -380,14 +380,17 @@ public class SearchCoordinatorSvcImpl implements ISearchCoordinatorSvc<JpaPid> {
 
 		final Integer loadSynchronousUpTo = getLoadSynchronousUpToOrNull(theCacheControlDirective);
 		boolean isOffsetQuery = theParams.isOffsetQuery();
+		boolean isKeysetQuery = theParams.getKeysetPosition() != null;
 
 		// todo someday - not today.
 		//		SearchStrategyFactory.ISearchStrategy searchStrategy = mySearchStrategyFactory.pickStrategy(theResourceType,
 		// theParams, theRequestDetails);
 		//		return searchStrategy.get();
 
-		if (theParams.isLoadSynchronous() || loadSynchronousUpTo != null || isOffsetQuery) {
-			if (mySearchStrategyFactory.isSupportsHSearchDirect(theResourceType, theParams, theRequestDetails)) {
+		if (theParams.isLoadSynchronous() || loadSynchronousUpTo != null || isOffsetQuery || isKeysetQuery) {
+			if (!isKeysetQuery
+					&& mySearchStrategyFactory.isSupportsHSearchDirect(
+							theResourceType, theParams, theRequestDetails)) {
 				ourLog.info("Search {} is using direct load strategy", searchUuid);
 				SearchStrategyFactory.ISearchStrategy direct = mySearchStrategyFactory.makeDirectStrategy(
 						searchUuid, theResourceType, theParams, theRequestDetails);
@@ -34,11 +34,14 @@ import ca.uhn.fhir.jpa.dao.SearchBuilderFactory;
 import ca.uhn.fhir.jpa.dao.tx.HapiTransactionService;
 import ca.uhn.fhir.jpa.interceptor.JpaPreResourceAccessDetails;
 import ca.uhn.fhir.jpa.model.dao.JpaPid;
+import ca.uhn.fhir.jpa.model.entity.ResourceTable;
 import ca.uhn.fhir.jpa.model.search.SearchRuntimeDetails;
 import ca.uhn.fhir.jpa.partition.IRequestPartitionHelperSvc;
+import ca.uhn.fhir.jpa.searchparam.KeysetPosition;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.model.api.IQueryParameterType;
 import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.api.server.IPreResourceAccessDetails;
 import ca.uhn.fhir.rest.api.server.RequestDetails;
@@ -47,6 +50,7 @@ import ca.uhn.fhir.rest.server.exceptions.InternalErrorException;
 import ca.uhn.fhir.rest.server.interceptor.ServerInterceptorUtil;
 import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
 import ca.uhn.fhir.rest.server.util.CompositeInterceptorBroadcaster;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -180,6 +184,18 @@ public class SynchronousSearchSvcImpl implements ISynchronousSearchSvc {
 						pids = pids.subList(0, resourcesToReturn);
 					}
 
+					// the next keyset page starts after the last match, even if it is filtered out below
+					String nextPageSearchAfter = null;
+					if (theParams.getKeysetPosition() != null
+							&& hasACount
+							&& receivedResourceCount > theParams.getCount()
+							&& !pids.isEmpty()) {
+						KeysetPosition nextPosition = createNextKeysetPosition(theParams, pids.get(pids.size() - 1));
+						if (nextPosition != null) {
+							nextPageSearchAfter = nextPosition.toToken();
+						}
+					}
+
 					JpaPreResourceAccessDetails accessDetails = new JpaPreResourceAccessDetails(pids, () -> theSb);
 					HookParams params = new HookParams()
 							.add(IPreResourceAccessDetails.class, accessDetails)
@@ -253,6 +269,7 @@ public class SynchronousSearchSvcImpl implements ISynchronousSearchSvc {
 						bundleProvider.setCurrentPageOffset(theParams.getOffset());
 						bundleProvider.setCurrentPageSize(theParams.getCount());
 					}
+					bundleProvider.setNextPageSearchAfter(nextPageSearchAfter);
 
 					if (wantCount) {
 						bundleProvider.setSize(count.intValue());
@@ -272,6 +289,31 @@ public class SynchronousSearchSvcImpl implements ISynchronousSearchSvc {
 				});
 	}
 
+	/**
+	 * Returns the keyset position after the given resource, using the value of the
+	 * column the search is sorted on
+	 */
+	/**
+	 * @return Returns <code>null</code> if the position can't be determined because the last resource
+	 * 	on the page was deleted in the meantime, in which case paging ends at this page
+	 */
+	@Nullable
+	private KeysetPosition createNextKeysetPosition(SearchParameterMap theParams, JpaPid theLastPid) {
+		SortSpec sort = theParams.getSort();
+		if (sort == null || Constants.PARAM_PID.equals(sort.getParamName())) {
+			return KeysetPosition.afterPid(theLastPid.getId());
+		}
+		ResourceTable entity = myEntityManager.find(ResourceTable.class, theLastPid.getId());
+		if (entity == null) {
+			ourLog.warn("Resource {} was removed while searching, unable to page past it", theLastPid);
+			return null;
+		}
+		if (Constants.PARAM_LASTUPDATED.equals(sort.getParamName())) {
+			return KeysetPosition.afterLastUpdated(entity.getUpdatedDate(), theLastPid.getId());
+		}
+		return KeysetPosition.afterResourceId(entity.getFhirId(), theLastPid.getId());
+	}
+
 	@Override
 	public IBundleProvider executeQuery(
 			String theResourceType,
@@ -58,6 +58,7 @@ import ca.uhn.fhir.jpa.search.builder.predicate.UriPredicateBuilder;
 import ca.uhn.fhir.jpa.search.builder.sql.ColumnTupleObject;
 import ca.uhn.fhir.jpa.search.builder.sql.PredicateBuilderFactory;
 import ca.uhn.fhir.jpa.search.builder.sql.SearchQueryBuilder;
+import ca.uhn.fhir.jpa.searchparam.KeysetPosition;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.searchparam.extractor.BaseSearchParamExtractor;
 import ca.uhn.fhir.jpa.searchparam.util.JpaParamUtil;
@@ -75,6 +76,7 @@ import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.HasParam;
 import ca.uhn.fhir.rest.param.NumberParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import ca.uhn.fhir.rest.param.QuantityParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.SpecialParam;
@@ -242,14 +244,7 @@ public class QueryStack {
 	}
 
 	public void addSortOnLastUpdated(boolean theAscending) {
-		ResourceTablePredicateBuilder resourceTablePredicateBuilder;
-		BaseJoiningPredicateBuilder firstPredicateBuilder = mySqlBuilder.getOrCreateFirstPredicateBuilder();
-		if (firstPredicateBuilder instanceof ResourceTablePredicateBuilder) {
-			resourceTablePredicateBuilder = (ResourceTablePredicateBuilder) firstPredicateBuilder;
-		} else {
-			resourceTablePredicateBuilder =
-					mySqlBuilder.addResourceTablePredicateBuilder(firstPredicateBuilder.getJoinColumns());
-		}
+		ResourceTablePredicateBuilder resourceTablePredicateBuilder = getOrAddResourceTablePredicateBuilderForSort();
 		mySqlBuilder.addSortDate(resourceTablePredicateBuilder.getColumnLastUpdated(), theAscending, myUseAggregate);
 	}
 
@@ -279,15 +274,68 @@ public class QueryStack {
 	}
 
 	public void addSortOnResourceId(boolean theAscending) {
-		ResourceTablePredicateBuilder resourceTablePredicateBuilder;
+		ResourceTablePredicateBuilder resourceTablePredicateBuilder = getOrAddResourceTablePredicateBuilderForSort();
+		mySqlBuilder.addSortString(resourceTablePredicateBuilder.getColumnFhirId(), theAscending, myUseAggregate);
+	}
+
+	private ResourceTablePredicateBuilder getOrAddResourceTablePredicateBuilderForSort() {
 		BaseJoiningPredicateBuilder firstPredicateBuilder = mySqlBuilder.getOrCreateFirstPredicateBuilder();
 		if (firstPredicateBuilder instanceof ResourceTablePredicateBuilder) {
-			resourceTablePredicateBuilder = (ResourceTablePredicateBuilder) firstPredicateBuilder;
+			return (ResourceTablePredicateBuilder) firstPredicateBuilder;
+		}
+		return mySqlBuilder.addResourceTablePredicateBuilder(firstPredicateBuilder.getJoinColumns());
+	}
+
+	/**
+	 * Used for keyset paging. Sorts on <code>_pid</code>, <code>_lastUpdated</code> or <code>_id</code>,
+	 * using RES_ID to break ties, and unless the position is the start, adds a seek predicate which
+	 * only matches resources sorting after the position.
+	 * <p>
+	 * RES_ID is the grouping column of aggregate queries, so only the sort on the resource table
+	 * column needs to be aggregated (in the same way as the regular sorts).
+	 * </p>
+	 */
+	public void addKeysetSortAndPredicate(String theSortParamName, boolean theAscending, KeysetPosition thePosition) {
+		DbColumn resourceIdColumn = mySqlBuilder.getOrCreateFirstPredicateBuilder().getResourceIdColumn();
+		ParamPrefixEnum after = theAscending ? ParamPrefixEnum.GREATERTHAN : ParamPrefixEnum.LESSTHAN;
+		Condition resourceIdAfter = null;
+		if (!thePosition.isStart()) {
+			resourceIdAfter = mySqlBuilder.createConditionForValueWithComparator(
+					after, resourceIdColumn, thePosition.getResourcePid());
+		}
+
+		if (Constants.PARAM_PID.equals(theSortParamName)) {
+			if (resourceIdAfter != null) {
+				mySqlBuilder.addPredicate(resourceIdAfter);
+			}
+			mySqlBuilder.addSortNumeric(resourceIdColumn, theAscending);
+			return;
+		}
+
+		ResourceTablePredicateBuilder resourceTablePredicateBuilder = getOrAddResourceTablePredicateBuilderForSort();
+		DbColumn sortColumn;
+		Object sortValue = null;
+		if (Constants.PARAM_LASTUPDATED.equals(theSortParamName)) {
+			sortColumn = resourceTablePredicateBuilder.getColumnLastUpdated();
+			mySqlBuilder.addSortDate(sortColumn, theAscending, myUseAggregate);
+			if (resourceIdAfter != null) {
+				sortValue = thePosition.getSortValueAsDate();
+			}
 		} else {
-			resourceTablePredicateBuilder =
-					mySqlBuilder.addResourceTablePredicateBuilder(firstPredicateBuilder.getJoinColumns());
+			sortColumn = resourceTablePredicateBuilder.getColumnFhirId();
+			mySqlBuilder.addSortString(sortColumn, theAscending, myUseAggregate);
+			if (resourceIdAfter != null) {
+				sortValue = thePosition.getSortValueAsString();
+			}
+		}
+		mySqlBuilder.addSortNumeric(resourceIdColumn, theAscending);
+
+		if (resourceIdAfter != null) {
+			Condition sortValueAfter = mySqlBuilder.createConditionForValueWithComparator(after, sortColumn, sortValue);
+			Condition sortValueEqual = BinaryCondition.equalTo(sortColumn, mySqlBuilder.generatePlaceholder(sortValue));
+			mySqlBuilder.addPredicate(
+					ComboCondition.or(sortValueAfter, ComboCondition.and(sortValueEqual, resourceIdAfter)));
 		}
-		mySqlBuilder.addSortString(resourceTablePredicateBuilder.getColumnFhirId(), theAscending, myUseAggregate);
 	}
 
 	/** Sort on RES_ID -- used to break ties for reliable sort */
@@ -70,6 +70,7 @@ import ca.uhn.fhir.jpa.searchparam.util.LastNParameterHelper;
 import ca.uhn.fhir.jpa.util.BaseIterator;
 import ca.uhn.fhir.jpa.util.CartesianProductUtil;
 import ca.uhn.fhir.jpa.util.CurrentThreadCaptureQueriesListener;
+import ca.uhn.fhir.jpa.util.MemoryCacheService;
 import ca.uhn.fhir.jpa.util.QueryChunker;
 import ca.uhn.fhir.jpa.util.SqlQueryList;
 import ca.uhn.fhir.model.api.IQueryParameterType;
@@ -80,6 +81,7 @@ import ca.uhn.fhir.model.valueset.BundleEntrySearchModeEnum;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.RestSearchParameterTypeEnum;
 import ca.uhn.fhir.rest.api.SearchContainedModeEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
 import ca.uhn.fhir.rest.api.SortOrderEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IPreResourceAccessDetails;
@@ -111,6 +113,7 @@ import jakarta.persistence.Query;
 import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -133,11 +136,14 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static ca.uhn.fhir.jpa.model.util.JpaConstants.UNDESIRED_RESOURCE_LINKAGES_FOR_EVERYTHING_ON_PATIENT_INSTANCE;
@@ -168,6 +174,8 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 	public static final String RESOURCE_VERSION_ALIAS = "resource_version";
 	private static final Logger ourLog = LoggerFactory.getLogger(SearchBuilder.class);
 	private static final JpaPid NO_MORE = JpaPid.fromId(-1L);
+	private static final List<String> KEYSET_PAGING_SORT_PARAMS =
+			List.of(Constants.PARAM_PID, Constants.PARAM_LASTUPDATED, IAnyResource.SP_RES_ID);
 	private static final String MY_TARGET_RESOURCE_PID = "myTargetResourcePid";
 	private static final String MY_SOURCE_RESOURCE_PID = "mySourceResourcePid";
 	private static final String MY_TARGET_RESOURCE_TYPE = "myTargetResourceType";
@@ -211,6 +219,9 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 	@Autowired
 	private IJpaStorageResourceParser myJpaStorageResourceParser;
 
+	@Autowired
+	private MemoryCacheService myMemoryCacheService;
+
 	/**
 	 * Constructor
 	 */
@@ -329,6 +340,28 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		assert theRequestPartitionId != null;
 		assert TransactionSynchronizationManager.isActualTransactionActive();
 
+		/*
+		 * For _total=estimated we're allowed to return a count that isn't perfectly
+		 * up to date, so reuse a recently calculated count for the same query if we have one
+		 */
+		SearchTotalModeEnum totalMode =
+				ObjectUtils.defaultIfNull(theParams.getSearchTotalMode(), myStorageSettings.getDefaultTotalMode());
+		if (totalMode == SearchTotalModeEnum.ESTIMATED) {
+			String cacheKey = createSearchCountCacheKey(theParams, theRequestPartitionId);
+			return myMemoryCacheService.get(
+					MemoryCacheService.CacheEnum.SEARCH_COUNT,
+					cacheKey,
+					k -> doCreateCountQuery(theParams, theSearchUuid, theRequest, theRequestPartitionId));
+		}
+
+		return doCreateCountQuery(theParams, theSearchUuid, theRequest, theRequestPartitionId);
+	}
+
+	private Long doCreateCountQuery(
+			SearchParameterMap theParams,
+			String theSearchUuid,
+			RequestDetails theRequest,
+			RequestPartitionId theRequestPartitionId) {
 		init(theParams, theSearchUuid, theRequestPartitionId);
 
 		if (checkUseHibernateSearch()) {
@@ -336,11 +369,38 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		}
 
 		List<ISearchQueryExecutor> queries = createQuery(theParams.clone(), null, null, null, true, theRequest, null);
-		if (queries.isEmpty()) {
-			return 0L;
-		} else {
-			return queries.get(0).next();
+
+		// A search fanned out across partitions produces one count query per partition
+		long count = 0;
+		for (ISearchQueryExecutor next : queries) {
+			count += next.next();
 		}
+		return count;
+	}
+
+	/**
+	 * Creates a key identifying the set of resources counted by a query. Parameters which
+	 * only affect paging, sorting or the returned content are left out. Modes which aren't
+	 * part of the normalized query string but change what is matched are added explicitly.
+	 */
+	private String createSearchCountCacheKey(SearchParameterMap theParams, RequestPartitionId theRequestPartitionId) {
+		SearchParameterMap params = theParams.clone();
+		params.setCount(null);
+		params.setOffset(null);
+		params.setSort(null);
+		params.setKeysetPosition(null);
+		params.setSummaryMode(null);
+		params.setSearchTotalMode(null);
+		params.setIncludes(new HashSet<>());
+		params.setRevIncludes(new HashSet<>());
+		String nearDistance = params.getNearDistanceParam() != null
+				? params.getNearDistanceParam().getValueAsQueryToken(myContext)
+				: null;
+		return myResourceName + " " + theRequestPartitionId + " " + params.toNormalizedQueryString(myContext)
+				+ " everything=" + params.getEverythingMode()
+				+ " lastN=" + params.isLastN() + "/" + params.getLastNMax()
+				+ " near=" + nearDistance
+				+ " deleteExpunge=" + params.isDeleteExpunge();
 	}
 
 	/**
@@ -376,6 +436,21 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		myParams = theParams.clone();
 		mySearchUuid = theSearchUuid;
 		myRequestPartitionId = theRequestPartitionId;
+
+		if (myParams.getKeysetPosition() != null) {
+			validateKeysetPagingIsSupported(myParams);
+		}
+	}
+
+	private static void validateKeysetPagingIsSupported(SearchParameterMap theParams) {
+		SortSpec sort = theParams.getSort();
+		boolean supportedSort = sort == null
+				|| (sort.getChain() == null && KEYSET_PAGING_SORT_PARAMS.contains(sort.getParamName()));
+		if (!supportedSort || theParams.getOffset() != null || theParams.getEverythingMode() != null) {
+			throw new InvalidRequestException(Msg.code(2799)
+					+ "Keyset paging requires a search with no offset, sorted by a single "
+					+ KEYSET_PAGING_SORT_PARAMS + " parameter or not sorted");
+		}
 	}
 
 	private List<ISearchQueryExecutor> createQuery(
@@ -450,7 +525,8 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 									// todo MB don't we support _lastUpdated and _offset now?
 									theParams.getLastUpdated() == null
 									&& theParams.getEverythingMode() == null
-									&& theParams.getOffset() == null);
+									&& theParams.getOffset() == null
+									&& theParams.getKeysetPosition() == null);
 
 			if (canSkipDatabase) {
 				ourLog.trace("Query finished after HSearch.  Skip db query phase");
@@ -471,6 +547,9 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 								t -> doCreateChunkedQueries(
 										theParams, t, theOffset, sort, theCountOnlyFlag, theRequest, queries));
 			}
+		} else if (isSearchFanOutAcrossPartitions(sort, theOffset)) {
+			// do everything in the database, with one query per partition
+			createPartitionFanOutQueries(theParams, theMaximumResults, theCountOnlyFlag, theRequest, queries);
 		} else {
 			// do everything in the database.
 			createChunkedQuery(
@@ -480,6 +559,61 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		return queries;
 	}
 
+	private boolean isSearchFanOutAcrossPartitions(SortSpec theSort, Integer theOffset) {
+		return myPartitionSettings.isPartitioningEnabled()
+				&& myPartitionSettings.isSearchFanOutAcrossPartitionsEnabled()
+				&& !myRequestPartitionId.isAllPartitions()
+				&& myRequestPartitionId.hasPartitionIds()
+				&& myRequestPartitionId.getPartitionIds().size() > 1
+				&& theSort == null
+				&& theOffset == null
+				&& myParams.getEverythingMode() == null
+				&& myParams.getKeysetPosition() == null
+				&& !myParams.isLastN();
+	}
+
+	/**
+	 * Creates one query per requested partition. Since the search is unsorted, the results
+	 * of the individual queries can simply be returned one after the other. The executors
+	 * are lazy, so each query only runs once the results of the previous one are exhausted.
+	 */
+	private void createPartitionFanOutQueries(
+			SearchParameterMap theParams,
+			Integer theMaximumResults,
+			boolean theCountOnlyFlag,
+			RequestDetails theRequest,
+			List<ISearchQueryExecutor> theSearchQueryExecutors) {
+		RequestPartitionId requestPartitionId = myRequestPartitionId;
+		SearchParameterMap params = myParams;
+		List<Integer> partitionIds = requestPartitionId.getPartitionIds();
+		List<String> partitionNames = requestPartitionId.getPartitionNames();
+		try {
+			for (int i = 0; i < partitionIds.size(); i++) {
+				String partitionName = null;
+				if (partitionNames != null && partitionNames.size() == partitionIds.size()) {
+					partitionName = partitionNames.get(i);
+				}
+				myRequestPartitionId = RequestPartitionId.forPartitionIdAndName(
+						partitionIds.get(i), partitionName, requestPartitionId.getPartitionDate());
+
+				// Query building consumes parameters (e.g. for combo params) so each partition gets a copy
+				myParams = theParams.clone();
+				createChunkedQuery(
+						myParams,
+						null,
+						null,
+						theMaximumResults,
+						theCountOnlyFlag,
+						theRequest,
+						null,
+						theSearchQueryExecutors);
+			}
+		} finally {
+			myRequestPartitionId = requestPartitionId;
+			myParams = params;
+		}
+	}
+
 	/**
 	 * Check to see if query should use Hibernate Search, and error if the query can't continue.
 	 *
@@ -732,7 +866,16 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		 * If we have a sort, we wrap the criteria search (the search that actually
 		 * finds the appropriate resources) in an outer search which is then sorted
 		 */
-		if (sort != null) {
+		if (theParams.getKeysetPosition() != null && !theCountOnlyFlag) {
+			/*
+			 * Keyset paging: a total order (the sort column and then RES_ID) and a
+			 * seek predicate instead of an offset. Count queries skip both so that
+			 * the total still covers the whole result set.
+			 */
+			String sortParamName = sort != null ? sort.getParamName() : Constants.PARAM_PID;
+			boolean ascending = sort == null || sort.getOrder() != SortOrderEnum.DESC;
+			queryStack3.addKeysetSortAndPredicate(sortParamName, ascending, theParams.getKeysetPosition());
+		} else if (sort != null) {
 			assert !theCountOnlyFlag;
 
 			createSort(queryStack3, sort, theParams);
@@ -1212,6 +1355,13 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 
 			theResourceListToPopulate.set(index, resource);
 		}
+
+		/*
+		 * The view entities hold the raw resource text, which is no longer needed once
+		 * it has been parsed. Detach them so that a large search does not keep the text
+		 * for every chunk in the persistence context until the transaction ends.
+		 */
+		resourceSearchViewList.forEach(myEntityManager::detach);
 	}
 
 	private Map<Long, Collection<ResourceTag>> getResourceTagMap(
@@ -1400,6 +1550,7 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		ArrayList<Include> includes = new ArrayList<>(currentIncludes);
 
 		int roundCounts = 0;
+		int queryCounts = 0;
 		StopWatch w = new StopWatch();
 
 		boolean addedSomeThisRound;
@@ -1408,6 +1559,13 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 
 			HashSet<JpaPid> pidsToInclude = new HashSet<>();
 
+			/*
+			 * Specific includes which resolve to the same set of target resource types
+			 * are grouped together so that they can be fetched using a single query per
+			 * partition of source PIDs, instead of one query per include path.
+			 */
+			Map<Set<String>, Set<String>> includePathsByTargetResourceTypes = new LinkedHashMap<>();
+
 			for (Iterator<Include> iter = includes.iterator(); iter.hasNext(); ) {
 				Include nextInclude = iter.next();
 				if (!nextInclude.isRecurse()) {
@@ -1427,7 +1585,7 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 				}
 
 				if (matchAll) {
-					loadIncludesMatchAll(
+					queryCounts += loadIncludesMatchAll(
 							findPidFieldName,
 							findResourceTypeFieldName,
 							findVersionFieldName,
@@ -1442,20 +1600,24 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 							pidsToInclude,
 							request);
 				} else {
-					loadIncludesMatchSpecific(
-							nextInclude,
-							fhirContext,
-							findPidFieldName,
-							findVersionFieldName,
-							searchPidFieldName,
-							reverseMode,
-							nextRoundMatches,
-							entityManager,
-							maxCount,
-							pidsToInclude);
+					addIncludePathsForMatchSpecific(nextInclude, fhirContext, includePathsByTargetResourceTypes);
 				}
 			}
 
+			for (Map.Entry<Set<String>, Set<String>> nextEntry : includePathsByTargetResourceTypes.entrySet()) {
+				queryCounts += loadIncludesMatchSpecific(
+						nextEntry.getValue(),
+						nextEntry.getKey(),
+						findPidFieldName,
+						findVersionFieldName,
+						searchPidFieldName,
+						reverseMode,
+						nextRoundMatches,
+						entityManager,
+						maxCount,
+						pidsToInclude);
+			}
+
 			nextRoundMatches.clear();
 			for (JpaPid next : pidsToInclude) {
 				if (!original.contains(next) && !allAdded.contains(next)) {
@@ -1474,10 +1636,11 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		allAdded.removeAll(original);
 
 		ourLog.info(
-				"Loaded {} {} in {} rounds and {} ms for search {}",
+				"Loaded {} {} in {} rounds, {} queries and {} ms for search {}",
 				allAdded.size(),
 				reverseMode ? "_revincludes" : "_includes",
 				roundCounts,
+				queryCounts,
 				w.getMillisAndRestart(),
 				searchIdOrDescription);
 
@@ -1516,17 +1679,15 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		return allAdded;
 	}
 
-	private void loadIncludesMatchSpecific(
+	/**
+	 * Resolves the SearchParameter paths for a specific (i.e. not <code>*</code>) include, and
+	 * adds them to the given map, keyed by the resource types the include may target
+	 * (or <code>null</code> if any type may be targeted).
+	 */
+	private void addIncludePathsForMatchSpecific(
 			Include nextInclude,
 			FhirContext fhirContext,
-			String findPidFieldName,
-			String findVersionFieldName,
-			String searchPidFieldName,
-			boolean reverseMode,
-			List<JpaPid> nextRoundMatches,
-			EntityManager entityManager,
-			Integer maxCount,
-			HashSet<JpaPid> pidsToInclude) {
+			Map<Set<String>, Set<String>> theIncludePathsByTargetResourceTypes) {
 		List<String> paths;
 
 		// Start replace
@@ -1557,99 +1718,139 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		// end replace
 
 		Set<String> targetResourceTypes = computeTargetResourceTypes(nextInclude, param);
+		if (targetResourceTypes != null) {
+			// Normalize the key so that equal sets from different sources group together
+			targetResourceTypes = new TreeSet<>(targetResourceTypes);
+		}
 
-		for (String nextPath : paths) {
-			String findPidFieldSqlColumn =
-					findPidFieldName.equals(MY_SOURCE_RESOURCE_PID) ? "src_resource_id" : "target_resource_id";
-			String fieldsToLoad = "r." + findPidFieldSqlColumn + " AS " + RESOURCE_ID_ALIAS;
-			if (findVersionFieldName != null) {
-				fieldsToLoad += ", r.target_resource_version AS " + RESOURCE_VERSION_ALIAS;
-			}
-
-			// Query for includes lookup has 2 cases
-			// Case 1: Where target_resource_id is available in hfj_res_link table for local references
-			// Case 2: Where target_resource_id is null in hfj_res_link table and referred by a canonical
-			// url in target_resource_url
-
-			// Case 1:
-			Map<String, Object> localReferenceQueryParams = new HashMap<>();
-
-			String searchPidFieldSqlColumn =
-					searchPidFieldName.equals(MY_TARGET_RESOURCE_PID) ? "target_resource_id" : "src_resource_id";
-			StringBuilder localReferenceQuery = new StringBuilder("SELECT " + fieldsToLoad + " FROM hfj_res_link r "
-					+ " WHERE r.src_path = :src_path AND "
-					+ " r.target_resource_id IS NOT NULL AND "
-					+ " r."
-					+ searchPidFieldSqlColumn + " IN (:target_pids) ");
-			localReferenceQueryParams.put("src_path", nextPath);
-			// we loop over target_pids later.
-			if (targetResourceTypes != null) {
-				if (targetResourceTypes.size() == 1) {
-					localReferenceQuery.append(" AND r.target_resource_type = :target_resource_type ");
-					localReferenceQueryParams.put(
-							"target_resource_type",
-							targetResourceTypes.iterator().next());
-				} else {
-					localReferenceQuery.append(" AND r.target_resource_type in (:target_resource_types) ");
-					localReferenceQueryParams.put("target_resource_types", targetResourceTypes);
-				}
+		theIncludePathsByTargetResourceTypes
+				.computeIfAbsent(targetResourceTypes, t -> new LinkedHashSet<>())
+				.addAll(paths);
+	}
+
+	/**
+	 * @return The number of SQL queries issued
+	 */
+	private int loadIncludesMatchSpecific(
+			Set<String> thePaths,
+			Set<String> targetResourceTypes,
+			String findPidFieldName,
+			String findVersionFieldName,
+			String searchPidFieldName,
+			boolean reverseMode,
+			List<JpaPid> nextRoundMatches,
+			EntityManager entityManager,
+			Integer maxCount,
+			HashSet<JpaPid> pidsToInclude) {
+		if (thePaths.isEmpty()) {
+			return 0;
+		}
+
+		int queryCount = 0;
+		String findPidFieldSqlColumn =
+				findPidFieldName.equals(MY_SOURCE_RESOURCE_PID) ? "src_resource_id" : "target_resource_id";
+		String fieldsToLoad = "r." + findPidFieldSqlColumn + " AS " + RESOURCE_ID_ALIAS;
+		if (findVersionFieldName != null) {
+			fieldsToLoad += ", r.target_resource_version AS " + RESOURCE_VERSION_ALIAS;
+		}
+
+		// Query for includes lookup has 2 cases
+		// Case 1: Where target_resource_id is available in hfj_res_link table for local references
+		// Case 2: Where target_resource_id is null in hfj_res_link table and referred by a canonical
+		// url in target_resource_url
+
+		// Case 1:
+		Map<String, Object> localReferenceQueryParams = new HashMap<>();
+
+		String srcPathPredicate;
+		if (thePaths.size() == 1) {
+			srcPathPredicate = "r.src_path = :src_path";
+			localReferenceQueryParams.put("src_path", thePaths.iterator().next());
+		} else {
+			srcPathPredicate = "r.src_path IN (:src_paths)";
+			localReferenceQueryParams.put("src_paths", thePaths);
+		}
+
+		String searchPidFieldSqlColumn =
+				searchPidFieldName.equals(MY_TARGET_RESOURCE_PID) ? "target_resource_id" : "src_resource_id";
+		StringBuilder localReferenceQuery = new StringBuilder("SELECT " + fieldsToLoad + " FROM hfj_res_link r "
+				+ " WHERE " + srcPathPredicate + " AND "
+				+ " r.target_resource_id IS NOT NULL AND "
+				+ " r."
+				+ searchPidFieldSqlColumn + " IN (:target_pids) ");
+		// we loop over target_pids later.
+		if (targetResourceTypes != null) {
+			if (targetResourceTypes.size() == 1) {
+				localReferenceQuery.append(" AND r.target_resource_type = :target_resource_type ");
+				localReferenceQueryParams.put(
+						"target_resource_type",
+						targetResourceTypes.iterator().next());
+			} else {
+				localReferenceQuery.append(" AND r.target_resource_type in (:target_resource_types) ");
+				localReferenceQueryParams.put("target_resource_types", targetResourceTypes);
 			}
+		}
 
-			// Case 2:
-			Pair<String, Map<String, Object>> canonicalQuery =
-					buildCanonicalUrlQuery(findVersionFieldName, targetResourceTypes, reverseMode);
+		// Case 2:
+		Pair<String, Map<String, Object>> canonicalQuery =
+				buildCanonicalUrlQuery(findVersionFieldName, srcPathPredicate, targetResourceTypes, reverseMode);
 
-			String sql = localReferenceQuery + " UNION " + canonicalQuery.getLeft();
+		String sql = localReferenceQuery + " UNION " + canonicalQuery.getLeft();
 
-			Map<String, Object> limitParams = new HashMap<>();
-			if (maxCount != null) {
-				LinkedList<Object> bindVariables = new LinkedList<>();
-				sql = SearchQueryBuilder.applyLimitToSql(
-						myDialectProvider.getDialect(), null, maxCount, sql, null, bindVariables);
-
-				// The dialect SQL limiter uses positional params, but we're using
-				// named params here, so we need to replace the positional params
-				// with equivalent named ones
-				StringBuilder sb = new StringBuilder();
-				for (int i = 0; i < sql.length(); i++) {
-					char nextChar = sql.charAt(i);
-					if (nextChar == '?') {
-						String nextName = "limit" + i;
-						sb.append(':').append(nextName);
-						limitParams.put(nextName, bindVariables.removeFirst());
-					} else {
-						sb.append(nextChar);
-					}
+		Map<String, Object> limitParams = new HashMap<>();
+		if (maxCount != null) {
+			LinkedList<Object> bindVariables = new LinkedList<>();
+			sql = SearchQueryBuilder.applyLimitToSql(
+					myDialectProvider.getDialect(), null, maxCount, sql, null, bindVariables);
+
+			// The dialect SQL limiter uses positional params, but we're using
+			// named params here, so we need to replace the positional params
+			// with equivalent named ones
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < sql.length(); i++) {
+				char nextChar = sql.charAt(i);
+				if (nextChar == '?') {
+					String nextName = "limit" + i;
+					sb.append(':').append(nextName);
+					limitParams.put(nextName, bindVariables.removeFirst());
+				} else {
+					sb.append(nextChar);
 				}
-				sql = sb.toString();
-			}
-
-			List<Collection<JpaPid>> partitions = partition(nextRoundMatches, getMaximumPageSize());
-			for (Collection<JpaPid> nextPartition : partitions) {
-				Query q = entityManager.createNativeQuery(sql, Tuple.class);
-				q.setParameter("target_pids", JpaPid.toLongList(nextPartition));
-				localReferenceQueryParams.forEach(q::setParameter);
-				canonicalQuery.getRight().forEach(q::setParameter);
-				limitParams.forEach(q::setParameter);
-
-				@SuppressWarnings("unchecked")
-				List<Tuple> results = q.getResultList();
-				for (Tuple result : results) {
-					if (result != null) {
-						Long resourceId = NumberUtils.createLong(String.valueOf(result.get(RESOURCE_ID_ALIAS)));
-						Long resourceVersion = null;
-						if (findVersionFieldName != null && result.get(RESOURCE_VERSION_ALIAS) != null) {
-							resourceVersion =
-									NumberUtils.createLong(String.valueOf(result.get(RESOURCE_VERSION_ALIAS)));
-						}
-						pidsToInclude.add(JpaPid.fromIdAndVersion(resourceId, resourceVersion));
+			}
+			sql = sb.toString();
+		}
+
+		List<Collection<JpaPid>> partitions = partition(nextRoundMatches, getMaximumPageSize());
+		for (Collection<JpaPid> nextPartition : partitions) {
+			Query q = entityManager.createNativeQuery(sql, Tuple.class);
+			q.setParameter("target_pids", JpaPid.toLongList(nextPartition));
+			localReferenceQueryParams.forEach(q::setParameter);
+			canonicalQuery.getRight().forEach(q::setParameter);
+			limitParams.forEach(q::setParameter);
+
+			@SuppressWarnings("unchecked")
+			List<Tuple> results = q.getResultList();
+			queryCount++;
+			for (Tuple result : results) {
+				if (result != null) {
+					Long resourceId = NumberUtils.createLong(String.valueOf(result.get(RESOURCE_ID_ALIAS)));
+					Long resourceVersion = null;
+					if (findVersionFieldName != null && result.get(RESOURCE_VERSION_ALIAS) != null) {
+						resourceVersion =
+								NumberUtils.createLong(String.valueOf(result.get(RESOURCE_VERSION_ALIAS)));
 					}
+					pidsToInclude.add(JpaPid.fromIdAndVersion(resourceId, resourceVersion));
 				}
 			}
 		}
+
+		return queryCount;
 	}
 
-	private void loadIncludesMatchAll(
+	/**
+	 * @return The number of SQL queries issued
+	 */
+	private int loadIncludesMatchAll(
 			String findPidFieldName,
 			String findResourceTypeFieldName,
 			String findVersionFieldName,
@@ -1713,6 +1914,7 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		}
 
 		String sql = sqlBuilder.toString();
+		int queryCount = 0;
 		List<Collection<JpaPid>> partitions = partition(nextRoundMatches, getMaximumPageSize());
 		for (Collection<JpaPid> nextPartition : partitions) {
 			TypedQuery<?> q = entityManager.createQuery(sql, Object[].class);
@@ -1727,6 +1929,7 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 				q.setParameter("desired_target_resource_types", desiredResourceTypes);
 			}
 			List<?> results = q.getResultList();
+			queryCount++;
 			Set<String> canonicalUrls = null;
 			for (Object nextRow : results) {
 				if (nextRow == null) {
@@ -1758,12 +1961,17 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 				String message =
 						"Search with _include=* can be inefficient when references using canonical URLs are detected. Use more specific _include values instead.";
 				firePerformanceWarning(request, message);
-				loadCanonicalUrls(canonicalUrls, entityManager, pidsToInclude, reverseMode);
+				queryCount += loadCanonicalUrls(canonicalUrls, entityManager, pidsToInclude, reverseMode);
 			}
 		}
+
+		return queryCount;
 	}
 
-	private void loadCanonicalUrls(
+	/**
+	 * @return The number of SQL queries issued
+	 */
+	private int loadCanonicalUrls(
 			Set<String> theCanonicalUrls,
 			EntityManager theEntityManager,
 			HashSet<JpaPid> thePidsToInclude,
@@ -1792,6 +2000,8 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 				}
 			}
 		}
+
+		return canonicalUrlPartitions.size();
 	}
 
 	/**
@@ -1827,7 +2037,10 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 
 	@Nonnull
 	private Pair<String, Map<String, Object>> buildCanonicalUrlQuery(
-			String theVersionFieldName, Set<String> theTargetResourceTypes, boolean theReverse) {
+			String theVersionFieldName,
+			String theSrcPathPredicate,
+			Set<String> theTargetResourceTypes,
+			boolean theReverse) {
 		String fieldsToLoadFromSpidxUriTable = theReverse ? "r.src_resource_id" : "rUri.res_id";
 		if (theVersionFieldName != null) {
 			// canonical-uri references aren't versioned, but we need to match the column count for the UNION
@@ -1852,7 +2065,7 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 		}
 
 		canonicalUrlQuery.append(" AND r.target_resource_url = rUri.sp_uri  )");
-		canonicalUrlQuery.append(" WHERE r.src_path = :src_path AND ");
+		canonicalUrlQuery.append(" WHERE ").append(theSrcPathPredicate).append(" AND ");
 		canonicalUrlQuery.append(" r.target_resource_id IS NULL ");
 		canonicalUrlQuery.append(" AND ");
 		if (theReverse) {
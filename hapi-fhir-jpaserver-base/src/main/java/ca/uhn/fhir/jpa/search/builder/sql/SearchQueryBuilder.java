@@ -514,23 +514,33 @@ public class SearchQueryBuilder {
 		getOrCreateFirstPredicateBuilder();
 
 		mySelect.validate();
-		String sql = mySelect.toString();
-
-		List<Object> bindVariables = new ArrayList<>();
+		String renderedSql = mySelect.toString();
+
+		/*
+		 * Replace each quoted placeholder with a bind marker in a single pass over the
+		 * rendered SQL. Rebuilding the whole string for every placeholder is quadratic,
+		 * which gets expensive for queries with large IN lists.
+		 */
+		List<Object> bindVariables = new ArrayList<>(myBindVariableValues.size());
+		StringBuilder sqlBuilder = new StringBuilder(renderedSql.length());
+		int substitutionBaseLength = myBindVariableSubstitutionBase.length();
+		int start = 0;
 		while (true) {
 
-			int idx = sql.indexOf(myBindVariableSubstitutionBase);
+			int idx = renderedSql.indexOf(myBindVariableSubstitutionBase, start);
 			if (idx == -1) {
 				break;
 			}
 
-			int endIdx = sql.indexOf("'", idx + myBindVariableSubstitutionBase.length());
-			String substitutionIndexString = sql.substring(idx + myBindVariableSubstitutionBase.length(), endIdx);
-			int substitutionIndex = Integer.parseInt(substitutionIndexString);
+			int endIdx = renderedSql.indexOf('\'', idx + substitutionBaseLength);
+			int substitutionIndex = Integer.parseInt(renderedSql, idx + substitutionBaseLength, endIdx, 10);
 			bindVariables.add(myBindVariableValues.get(substitutionIndex));
 
-			sql = sql.substring(0, idx - 1) + "?" + sql.substring(endIdx + 1);
+			sqlBuilder.append(renderedSql, start, idx - 1).append('?');
+			start = endIdx + 1;
 		}
+		sqlBuilder.append(renderedSql, start, renderedSql.length());
+		String sql = sqlBuilder.toString();
 
 		Integer maxResultsToFetch = theMaxResultsToFetch;
 		Integer offset = theOffset;
@@ -285,6 +285,7 @@ public class SearchTask implements Callable<Void> {
 
 	@SuppressWarnings("rawtypes")
 	private void saveUnsynced(final IResultIterator theResultIter) {
+		StopWatch sw = new StopWatch();
 		myTxService
 				.withRequest(myRequest)
 				.withRequestPartitionId(myRequestPartitionId)
@@ -383,6 +384,7 @@ public class SearchTask implements Callable<Void> {
 					ourLog.trace("saveUnsynced() - pre-commit");
 				});
 		ourLog.trace("saveUnsynced() - post-commit");
+		mySearchRuntimeDetails.addResultStorageMillis(sw.getMillis());
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -466,11 +468,12 @@ public class SearchTask implements Callable<Void> {
 			}
 
 			ourLog.trace(
-					"Have completed search for [{}{}] and found {} resources in {}ms - Status is {}",
+					"Have completed search for [{}{}] and found {} resources in {}ms ({}ms storing results) - Status is {}",
 					mySearch.getResourceType(),
 					mySearch.getSearchQueryString(),
 					mySyncedPids.size(),
 					sw.getMillis(),
+					mySearchRuntimeDetails.getResultStorageMillis(),
 					mySearch.getStatus());
 
 		} catch (Throwable t) {
@@ -653,11 +656,21 @@ public class SearchTask implements Callable<Void> {
 			 * every X results, we commit to the HFJ_SEARCH table.
 			 */
 			int syncSize = mySyncSize;
+			int firstPageSyncSize = determineFirstPageSyncSize(syncSize);
 			while (resultIterator.hasNext()) {
 				myUnsyncedPids.add(resultIterator.next());
 
 				boolean shouldSync = myUnsyncedPids.size() >= syncSize;
 
+				/*
+				 * If nobody has been released yet, store the first page as soon as we
+				 * have it so that the client thread can start loading those resources
+				 * while we keep fetching the remaining PIDs
+				 */
+				if (myUnsyncedPids.size() >= firstPageSyncSize && myInitialCollectionLatch.getCount() > 0) {
+					shouldSync = true;
+				}
+
 				if (myStorageSettings.getCountSearchResultsUpTo() != null
 						&& myStorageSettings.getCountSearchResultsUpTo() > 0
 						&& myStorageSettings.getCountSearchResultsUpTo() < myUnsyncedPids.size()) {
@@ -691,6 +704,30 @@ public class SearchTask implements Callable<Void> {
 		}
 	}
 
+	/**
+	 * Returns the number of results which must be found before the first page is
+	 * stored and the waiting client is released. This is the regular sync size unless
+	 * {@link JpaStorageSettings#isSearchFirstPageEarlySyncEnabled()} is set, in which
+	 * case the size of the first page is used if it is smaller.
+	 */
+	private int determineFirstPageSyncSize(int theSyncSize) {
+		if (!myStorageSettings.isSearchFirstPageEarlySyncEnabled()
+				|| myStorageSettings.getCountSearchResultsUpTo() != null) {
+			return theSyncSize;
+		}
+
+		int pageSize;
+		if (myParams.getCount() != null) {
+			pageSize = myParams.getCount();
+		} else {
+			pageSize = myPagingProvider.getDefaultPageSize();
+		}
+		if (pageSize <= 0) {
+			return theSyncSize;
+		}
+		return Math.min(theSyncSize, pageSize);
+	}
+
 	/**
 	 * Does the query but only for the count.
 	 * @param theParamWantOnlyCount - if count query is wanted only
@@ -0,0 +1,285 @@
+/*-
+ * #%L
+ * HAPI FHIR JPA Server
+ * %%
+ * Copyright (C) 2014 - 2024 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package ca.uhn.fhir.jpa.search.cache;
+
+import ca.uhn.fhir.interceptor.model.RequestPartitionId;
+import ca.uhn.fhir.jpa.entity.Search;
+import ca.uhn.fhir.jpa.model.dao.JpaPid;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.sl.cache.Cache;
+import ca.uhn.fhir.sl.cache.CacheFactory;
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ISearchResultCacheSvc} which keeps the result PIDs of recent searches in memory,
+ * in front of the <code>HFJ_SEARCH_RESULT</code> table.
+ * <p>
+ * Results are still written through to the database, so that searches can be continued
+ * and paged by other servers in a cluster and are expired normally. Each page that is fully
+ * covered by the results held in memory is served without a database query. PIDs are stored
+ * as delta-encoded variable length integers, which typically takes two to four bytes per
+ * result, and only the first {@link #getMaximumPidsPerSearch()} results of each search are
+ * kept.
+ * </p>
+ * <p>
+ * Results are added to memory only after the transaction storing them has committed.
+ * </p>
+ * <p>
+ * This cache is enabled with
+ * {@link ca.uhn.fhir.jpa.api.config.JpaStorageSettings#setSearchResultMemoryCacheEnabled(boolean)}.
+ * Alternatively, register an instance of this class as the {@link ISearchResultCacheSvc} bean.
+ * It then replaces {@link DatabaseSearchResultCacheSvcImpl}.
+ * </p>
+ *
+ * @since 7.8.0
+ */
+public class MemoryCachingSearchResultCacheSvcImpl extends DatabaseSearchResultCacheSvcImpl {
+	public static final int DEFAULT_MAXIMUM_SEARCHES = 500;
+	public static final int DEFAULT_MAXIMUM_PIDS_PER_SEARCH = 50000;
+	public static final long DEFAULT_EXPIRE_AFTER_WRITE_MILLIS = 10 * DateUtils.MILLIS_PER_MINUTE;
+	private static final Logger ourLog = LoggerFactory.getLogger(MemoryCachingSearchResultCacheSvcImpl.class);
+	private final Cache<Long, CompressedPidList> myCache;
+	private final int myMaximumPidsPerSearch;
+
+	/**
+	 * Constructor which uses the default limits
+	 */
+	public MemoryCachingSearchResultCacheSvcImpl() {
+		this(DEFAULT_MAXIMUM_SEARCHES, DEFAULT_MAXIMUM_PIDS_PER_SEARCH, DEFAULT_EXPIRE_AFTER_WRITE_MILLIS);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param theMaximumSearches       The maximum number of searches to hold results for
+	 * @param theMaximumPidsPerSearch  The maximum number of result PIDs to hold for each search
+	 * @param theExpireAfterWriteMillis The number of milliseconds after which a search is dropped from memory
+	 */
+	public MemoryCachingSearchResultCacheSvcImpl(
+			int theMaximumSearches, int theMaximumPidsPerSearch, long theExpireAfterWriteMillis) {
+		Validate.isTrue(theMaximumSearches > 0, "theMaximumSearches must be positive");
+		Validate.isTrue(theMaximumPidsPerSearch > 0, "theMaximumPidsPerSearch must be positive");
+		myCache = CacheFactory.build(theExpireAfterWriteMillis, theMaximumSearches);
+		myMaximumPidsPerSearch = theMaximumPidsPerSearch;
+	}
+
+	public int getMaximumPidsPerSearch() {
+		return myMaximumPidsPerSearch;
+	}
+
+	@Override
+	public List<JpaPid> fetchResultPids(
+			Search theSearch,
+			int theFrom,
+			int theTo,
+			RequestDetails theRequestDetails,
+			RequestPartitionId theRequestPartitionId) {
+		if (theTo <= theFrom) {
+			return Collections.emptyList();
+		}
+
+		CompressedPidList cached = theSearch.getId() != null ? myCache.getIfPresent(theSearch.getId()) : null;
+		if (cached != null) {
+			/*
+			 * Results are only ever appended to a search, so anything we hold is a valid prefix
+			 * of what is in the database. We can only answer from memory if the whole range is
+			 * covered though, since the database may hold more results than we do.
+			 */
+			List<Long> pids = cached.getRange(theFrom, theTo);
+			if (pids != null) {
+				ourLog.debug("fetchResultPids for range {}-{} served {} pids from memory", theFrom, theTo, pids.size());
+				return JpaPid.fromLongList(pids);
+			}
+		}
+
+		return super.fetchResultPids(theSearch, theFrom, theTo, theRequestDetails, theRequestPartitionId);
+	}
+
+	@Override
+	public void storeResults(
+			Search theSearch,
+			List<JpaPid> thePreviouslyStoredResourcePids,
+			List<JpaPid> theNewResourcePids,
+			RequestDetails theRequestDetails,
+			RequestPartitionId theRequestPartitionId) {
+		super.storeResults(
+				theSearch,
+				thePreviouslyStoredResourcePids,
+				theNewResourcePids,
+				theRequestDetails,
+				theRequestPartitionId);
+
+		Long searchId = theSearch.getId();
+		if (searchId == null) {
+			return;
+		}
+
+		/*
+		 * The results are only added to memory once they are committed, so that a rollback can't
+		 * leave PIDs in memory which are not in the database. The caller keeps appending to the
+		 * lists it passes in, so copy what we need now.
+		 */
+		int previouslyStoredCount = thePreviouslyStoredResourcePids.size();
+		List<JpaPid> previouslyStoredPids = copyUpToMaximum(thePreviouslyStoredResourcePids);
+		List<JpaPid> newPids = copyUpToMaximum(theNewResourcePids);
+		Runnable addToCache = () -> addToCache(searchId, previouslyStoredCount, previouslyStoredPids, newPids);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					addToCache.run();
+				}
+			});
+		} else {
+			addToCache.run();
+		}
+	}
+
+	private List<JpaPid> copyUpToMaximum(List<JpaPid> thePids) {
+		return new ArrayList<>(thePids.subList(0, Math.min(thePids.size(), myMaximumPidsPerSearch)));
+	}
+
+	private void addToCache(
+			Long theSearchId,
+			int thePreviouslyStoredCount,
+			List<JpaPid> thePreviouslyStoredPids,
+			List<JpaPid> theNewPids) {
+		CompressedPidList cached = myCache.get(theSearchId, t -> new CompressedPidList());
+		synchronized (cached) {
+			if (cached.size() != thePreviouslyStoredCount && cached.size() < myMaximumPidsPerSearch) {
+				// The entry is new, or another server has stored results for this search in the meantime
+				cached.clear();
+				addAll(cached, thePreviouslyStoredPids);
+			}
+			addAll(cached, theNewPids);
+		}
+	}
+
+	private void addAll(CompressedPidList theList, List<JpaPid> thePids) {
+		for (JpaPid next : thePids) {
+			if (theList.size() >= myMaximumPidsPerSearch) {
+				break;
+			}
+			theList.add(next.getId());
+		}
+	}
+
+	@VisibleForTesting
+	void invalidateCaches() {
+		myCache.invalidateAll();
+	}
+
+	/**
+	 * An append-only list of PIDs, stored as zig-zag encoded variable length deltas. The
+	 * first value of every block is stored relative to zero, and the byte offset of each
+	 * block is indexed so that a page can be decoded without decoding the whole list.
+	 */
+	static class CompressedPidList {
+		private static final int BLOCK_SIZE = 128;
+		private byte[] myBytes = new byte[64];
+		private int myByteCount;
+		private int[] myBlockOffsets = new int[4];
+		private int mySize;
+		private long myPrevious;
+
+		synchronized void add(long thePid) {
+			if (mySize % BLOCK_SIZE == 0) {
+				int block = mySize / BLOCK_SIZE;
+				if (block == myBlockOffsets.length) {
+					myBlockOffsets = Arrays.copyOf(myBlockOffsets, block * 2);
+				}
+				myBlockOffsets[block] = myByteCount;
+				myPrevious = 0;
+			}
+
+			long delta = thePid - myPrevious;
+			long zigZag = (delta << 1) ^ (delta >> 63);
+			if (myBytes.length - myByteCount < 10) {
+				myBytes = Arrays.copyOf(myBytes, myBytes.length * 2);
+			}
+			while ((zigZag & ~0x7FL) != 0) {
+				myBytes[myByteCount++] = (byte) ((zigZag & 0x7F) | 0x80);
+				zigZag >>>= 7;
+			}
+			myBytes[myByteCount++] = (byte) zigZag;
+
+			myPrevious = thePid;
+			mySize++;
+		}
+
+		synchronized void clear() {
+			myByteCount = 0;
+			mySize = 0;
+			myPrevious = 0;
+		}
+
+		synchronized int size() {
+			return mySize;
+		}
+
+		/**
+		 * @return The PIDs in the given range, or <code>null</code> if this list does not contain the whole range
+		 */
+		synchronized List<Long> getRange(int theFrom, int theTo) {
+			if (theTo > mySize) {
+				return null;
+			}
+
+			List<Long> retVal = new ArrayList<>(theTo - theFrom);
+			int block = theFrom / BLOCK_SIZE;
+			int index = block * BLOCK_SIZE;
+			int offset = myBlockOffsets[block];
+			long value = 0;
+			while (index < theTo) {
+				if (index % BLOCK_SIZE == 0) {
+					value = 0;
+				}
+
+				long zigZag = 0;
+				int shift = 0;
+				byte next;
+				do {
+					next = myBytes[offset++];
+					zigZag |= (long) (next & 0x7F) << shift;
+					shift += 7;
+				} while ((next & 0x80) != 0);
+				value += (zigZag >>> 1) ^ -(zigZag & 1);
+
+				if (index >= theFrom) {
+					retVal.add(value);
+				}
+				index++;
+			}
+			return retVal;
+		}
+	}
+}
@@ -31,8 +31,13 @@ public class SearchParameterMapCalculator {
 		return isWantCount(myParams.getSearchTotalMode());
 	}
 
+	/**
+	 * Returns <code>true</code> for both <code>_total=accurate</code> and <code>_total=estimated</code>. Estimated
+	 * totals are served from a short-lived cache of previously calculated counts when possible.
+	 */
 	public static boolean isWantCount(SearchTotalModeEnum theSearchTotalModeEnum) {
-		return SearchTotalModeEnum.ACCURATE.equals(theSearchTotalModeEnum);
+		return SearchTotalModeEnum.ACCURATE.equals(theSearchTotalModeEnum)
+				|| SearchTotalModeEnum.ESTIMATED.equals(theSearchTotalModeEnum);
 	}
 
 	public static boolean isWantOnlyCount(SearchParameterMap myParams) {
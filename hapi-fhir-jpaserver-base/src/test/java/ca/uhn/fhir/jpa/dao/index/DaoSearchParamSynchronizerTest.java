@@ -8,6 +8,7 @@ import ca.uhn.fhir.jpa.model.entity.ResourceTable;
 import ca.uhn.fhir.jpa.searchparam.extractor.ResourceIndexedSearchParams;
 import ca.uhn.fhir.jpa.util.AddRemoveCount;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +45,9 @@ public class DaoSearchParamSynchronizerTest {
 	@Mock
 	private EntityManager entityManager;
 
+	@Mock
+	private Session session;
+
 	private ResourceIndexedSearchParams existingParams;
 
 	@BeforeEach
@@ -74,5 +78,19 @@ public class DaoSearchParamSynchronizerTest {
 
 		verify(entityManager, never()).remove(any(BaseResourceIndex.class));
 		verify(entityManager, times(1)).merge(THE_SEARCH_PARAM_NUMBER);
+		verify(entityManager, never()).unwrap(any());
+	}
+
+	@Test
+	void synchronizeSearchParamsAppliesIndexWriteJdbcBatchSize() {
+		JpaStorageSettings storageSettings = new JpaStorageSettings();
+		storageSettings.setIndexWriteJdbcBatchSize(500);
+		subject.setStorageSettings(storageSettings);
+		when(entityManager.unwrap(Session.class)).thenReturn(session);
+		when(session.getJdbcBatchSize()).thenReturn(30);
+
+		subject.synchronizeSearchParamsToDatabase(ResourceIndexedSearchParams.withSets(), theEntity, ResourceIndexedSearchParams.withSets());
+
+		verify(session, times(1)).setJdbcBatchSize(500);
 	}
 }
@@ -13,6 +13,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
+import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,14 +26,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -119,6 +128,51 @@ public class IdHelperServiceTest {
 		assertNull(actualIds.get(ids.get(0)));
     }
 
+	@Test
+	public void testResolveResourcePersistentIdsDeleteFalse_MultipleCacheMissesResolvedTogether() {
+		RequestPartitionId requestPartitionId = RequestPartitionId.fromPartitionIdAndName(1, "Partition-A");
+		String resourceType = "Patient";
+		List<String> ids = List.of("A", "B");
+
+		JpaPid pidA = JpaPid.fromId(1L);
+		pidA.setAssociatedResourceId(new IdType(resourceType, "A"));
+		JpaPid pidB = JpaPid.fromId(2L);
+		pidB.setAssociatedResourceId(new IdType(resourceType, "B"));
+
+		IdHelperService helperSvc = spy(myHelperSvc);
+		when(myStorageSettings.isDeleteEnabled()).thenReturn(false);
+		doReturn(List.of(pidA, pidB)).when(helperSvc).resolveResourcePersistentIdsWithCache(any(), anyList(), eq(true));
+		when(myMemoryCacheService.getThenPutAfterCommit(any(), any(), any())).thenAnswer(t -> {
+			Function<Object, Object> loader = t.getArgument(2);
+			return loader.apply(t.getArgument(1));
+		});
+
+		Map<String, JpaPid> actualIds = helperSvc.resolveResourcePersistentIds(requestPartitionId, resourceType, ids);
+
+		assertEquals(pidA, actualIds.get("A"));
+		assertEquals(pidB, actualIds.get("B"));
+		verify(helperSvc, times(1)).resolveResourcePersistentIdsWithCache(any(), anyList(), eq(true));
+		verify(helperSvc, never()).resolveResourcePersistentIdsWithCache(any(), anyList());
+	}
+
+	@Test
+	public void testResolveResourcePersistentIdsDeleteTrue_MultipleIdsResolvedTogether() {
+		RequestPartitionId requestPartitionId = RequestPartitionId.fromPartitionIdAndName(1, "Partition-A");
+		String resourceType = "Patient";
+		List<String> ids = List.of("A", "Patient/B");
+
+		List<Object[]> rows = List.of(
+			new Object[]{resourceType, 1L, "A", null, 1, null},
+			new Object[]{resourceType, 2L, "B", null, 1, null});
+		doReturn(rows).when(myResourceTableDao).findAndResolveByForcedIdWithNoTypeInPartition(any(), any(), any(), eq(false));
+
+		Map<String, JpaPid> actualIds = myHelperSvc.resolveResourcePersistentIds(requestPartitionId, resourceType, ids);
+
+		assertEquals(JpaPid.fromId(1L), actualIds.get("A"));
+		assertEquals(JpaPid.fromId(2L), actualIds.get("Patient/B"));
+		verify(myResourceTableDao, times(1)).findAndResolveByForcedIdWithNoTypeInPartition(
+			eq(resourceType), eq(List.of("A", "B")), any(), eq(false));
+	}
 
     private Root<ResourceTable> getMockedFrom() {
         @SuppressWarnings("unchecked")
@@ -0,0 +1,185 @@
+package ca.uhn.fhir.jpa.search.cache;
+
+import ca.uhn.fhir.interceptor.model.RequestPartitionId;
+import ca.uhn.fhir.jpa.dao.data.ISearchResultDao;
+import ca.uhn.fhir.jpa.dao.tx.IHapiTransactionService;
+import ca.uhn.fhir.jpa.dao.tx.NonTransactionalHapiTransactionService;
+import ca.uhn.fhir.jpa.entity.Search;
+import ca.uhn.fhir.jpa.model.dao.JpaPid;
+import ca.uhn.fhir.rest.api.server.SystemRequestDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MemoryCachingSearchResultCacheSvcImplTest {
+
+	private static final long SEARCH_ID = 123L;
+
+	@Mock
+	private ISearchResultDao mySearchResultDao;
+	@Spy
+	private IHapiTransactionService myTransactionService = new NonTransactionalHapiTransactionService();
+	@InjectMocks
+	private MemoryCachingSearchResultCacheSvcImpl mySvc = new MemoryCachingSearchResultCacheSvcImpl(10, 1000, 60000);
+
+	private Search mySearch;
+	private final SystemRequestDetails myRequestDetails = new SystemRequestDetails();
+	private final RequestPartitionId myPartitionId = RequestPartitionId.allPartitions();
+
+	@BeforeEach
+	public void before() {
+		mySearch = mock(Search.class);
+		lenient().when(mySearch.getId()).thenReturn(SEARCH_ID);
+	}
+
+	@Test
+	public void testFetchPagesFromMemory() {
+		List<JpaPid> pids = createPids(300);
+		mySvc.storeResults(mySearch, List.of(), pids.subList(0, 200), myRequestDetails, myPartitionId);
+		mySvc.storeResults(mySearch, pids.subList(0, 200), pids.subList(200, 300), myRequestDetails, myPartitionId);
+		verify(mySearchResultDao, times(2)).saveAll(anyList());
+
+		assertEquals(pids.subList(0, 50), fetch(0, 50));
+		assertEquals(pids.subList(100, 250), fetch(100, 250));
+		assertEquals(pids.subList(250, 300), fetch(250, 300));
+		assertThat(fetch(10, 10)).isEmpty();
+		verify(mySearchResultDao, never()).findWithSearchPid(any(), any());
+	}
+
+	@Test
+	public void testFetchBeyondCachedResultsUsesDatabase() {
+		List<JpaPid> pids = createPids(100);
+		mySvc.storeResults(mySearch, List.of(), pids, myRequestDetails, myPartitionId);
+		when(mySearchResultDao.findWithSearchPid(eq(SEARCH_ID), any())).thenReturn(new SliceImpl<>(List.of(99999L)));
+
+		assertThat(fetch(90, 110)).containsExactly(JpaPid.fromId(99999L));
+		verify(mySearchResultDao, times(1)).findWithSearchPid(eq(SEARCH_ID), any());
+	}
+
+	@Test
+	public void testResultsStoredByAnotherServerAreReloaded() {
+		List<JpaPid> pids = createPids(300);
+		mySvc.storeResults(mySearch, List.of(), pids.subList(0, 100), myRequestDetails, myPartitionId);
+
+		// Simulate another server storing the second page, then our cache entry expiring
+		mySvc.storeResults(mySearch, pids.subList(0, 200), pids.subList(200, 300), myRequestDetails, myPartitionId);
+		assertEquals(pids.subList(150, 300), fetch(150, 300));
+
+		mySvc.invalidateCaches();
+		mySvc.storeResults(mySearch, pids.subList(0, 250), pids.subList(250, 300), myRequestDetails, myPartitionId);
+		assertEquals(pids.subList(0, 300), fetch(0, 300));
+		verify(mySearchResultDao, never()).findWithSearchPid(any(), any());
+	}
+
+	@Test
+	public void testResultsAreCachedAfterCommit() {
+		List<JpaPid> pids = createPids(100);
+		when(mySearchResultDao.findWithSearchPid(eq(SEARCH_ID), any())).thenReturn(new SliceImpl<>(List.of()));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			List<JpaPid> newPids = new ArrayList<>(pids);
+			mySvc.storeResults(mySearch, List.of(), newPids, myRequestDetails, myPartitionId);
+			// The caller reuses its lists once the results are stored
+			newPids.clear();
+
+			fetch(0, 50);
+			verify(mySearchResultDao, times(1)).findWithSearchPid(eq(SEARCH_ID), any());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(pids.subList(0, 50), fetch(0, 50));
+		verify(mySearchResultDao, times(1)).findWithSearchPid(eq(SEARCH_ID), any());
+	}
+
+	@Test
+	public void testRolledBackResultsAreNotCached() {
+		List<JpaPid> pids = createPids(100);
+		when(mySearchResultDao.findWithSearchPid(eq(SEARCH_ID), any())).thenReturn(new SliceImpl<>(List.of()));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			mySvc.storeResults(mySearch, List.of(), pids, myRequestDetails, myPartitionId);
+			TransactionSynchronizationManager.getSynchronizations()
+				.forEach(t -> t.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(fetch(0, 50)).isEmpty();
+		verify(mySearchResultDao, times(1)).findWithSearchPid(eq(SEARCH_ID), any());
+	}
+
+	@Test
+	public void testMaximumPidsPerSearch() {
+		List<JpaPid> pids = createPids(1200);
+		mySvc.storeResults(mySearch, List.of(), pids, myRequestDetails, myPartitionId);
+		assertEquals(pids.subList(900, 1000), fetch(900, 1000));
+
+		when(mySearchResultDao.findWithSearchPid(eq(SEARCH_ID), any())).thenReturn(new SliceImpl<>(List.of()));
+		fetch(950, 1050);
+		verify(mySearchResultDao, times(1)).findWithSearchPid(eq(SEARCH_ID), any());
+	}
+
+	@Test
+	public void testCompressedPidList() {
+		MemoryCachingSearchResultCacheSvcImpl.CompressedPidList list = new MemoryCachingSearchResultCacheSvcImpl.CompressedPidList();
+		List<Long> expected = new ArrayList<>();
+		for (JpaPid next : createPids(1000)) {
+			list.add(next.getId());
+			expected.add(next.getId());
+		}
+		list.add(Long.MAX_VALUE);
+		list.add(Long.MIN_VALUE);
+		list.add(0L);
+		expected.addAll(List.of(Long.MAX_VALUE, Long.MIN_VALUE, 0L));
+
+		assertEquals(1003, list.size());
+		assertEquals(expected, list.getRange(0, 1003));
+		assertEquals(expected.subList(127, 129), list.getRange(127, 129));
+		assertEquals(expected.subList(995, 1003), list.getRange(995, 1003));
+		assertThat(list.getRange(1000, 1004)).isNull();
+	}
+
+	private List<JpaPid> fetch(int theFrom, int theTo) {
+		return mySvc.fetchResultPids(mySearch, theFrom, theTo, myRequestDetails, myPartitionId);
+	}
+
+	/**
+	 * Mostly ascending PIDs with the occasional large jump backwards, like a sorted search
+	 */
+	private static List<JpaPid> createPids(int theCount) {
+		List<JpaPid> retVal = new ArrayList<>();
+		for (int i = 0; i < theCount; i++) {
+			long pid = i % 7 == 0 ? 1_000_000_000L - i : 1000L + i * 3L;
+			retVal.add(JpaPid.fromId(pid));
+		}
+		return retVal;
+	}
+}
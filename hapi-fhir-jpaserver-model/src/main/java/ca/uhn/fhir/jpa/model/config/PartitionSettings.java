@@ -34,6 +34,7 @@ public class PartitionSettings {
 	private boolean myAlwaysOpenNewTransactionForDifferentPartition;
 	private boolean myConditionalCreateDuplicateIdentifiersEnabled = false;
 	private boolean myPartitionIdsInPrimaryKeys = false;
+	private boolean mySearchFanOutAcrossPartitionsEnabled = false;
 
 	public PartitionSettings() {
 		super();
@@ -210,6 +211,40 @@ public class PartitionSettings {
 		myConditionalCreateDuplicateIdentifiersEnabled = theConditionalCreateDuplicateIdentifiersEnabled;
 	}
 
+	/**
+	 * If enabled (default is <code>false</code>), an unsorted search against an explicit list of
+	 * several partitions is executed as one SQL query per partition instead of a single query
+	 * using a <code>PARTITION_ID IN (...)</code> selector. This lets each query use per-partition
+	 * index locality when the database is natively partitioned. The per-partition queries are run
+	 * one after the other, and each one is only run once the results of the previous one are needed.
+	 * <p>
+	 * Searches with a sort or an offset, searches against all partitions, and <code>$everything</code>
+	 * operations are always executed as a single query.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isSearchFanOutAcrossPartitionsEnabled() {
+		return mySearchFanOutAcrossPartitionsEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), an unsorted search against an explicit list of
+	 * several partitions is executed as one SQL query per partition instead of a single query
+	 * using a <code>PARTITION_ID IN (...)</code> selector. This lets each query use per-partition
+	 * index locality when the database is natively partitioned. The per-partition queries are run
+	 * one after the other, and each one is only run once the results of the previous one are needed.
+	 * <p>
+	 * Searches with a sort or an offset, searches against all partitions, and <code>$everything</code>
+	 * operations are always executed as a single query.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public void setSearchFanOutAcrossPartitionsEnabled(boolean theSearchFanOutAcrossPartitionsEnabled) {
+		mySearchFanOutAcrossPartitionsEnabled = theSearchFanOutAcrossPartitionsEnabled;
+	}
+
 	public enum CrossPartitionReferenceMode {
 
 		/**
@@ -30,17 +30,23 @@ import org.hibernate.boot.model.relational.SqlStringGenerationContext;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.BulkInsertionCapableIdentifierGenerator;
 import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.id.OptimizableGenerator;
 import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.AccessCallback;
 import org.hibernate.id.enhanced.Optimizer;
 import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.Serializable;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is a sequence generator that wraps the Hibernate default sequence generator {@link SequenceStyleGenerator}
@@ -50,6 +56,7 @@ import java.util.Properties;
 public class HapiSequenceStyleGenerator
 		implements PersistentIdentifierGenerator, BulkInsertionCapableIdentifierGenerator, ExportableProducer {
 	public static final String ID_MASSAGER_TYPE_KEY = "hapi_fhir.sequence_generator_massager";
+	private static final Logger ourLog = LoggerFactory.getLogger(HapiSequenceStyleGenerator.class);
 	private final SequenceStyleGenerator myGen = new SequenceStyleGenerator();
 
 	@Autowired
@@ -58,6 +65,7 @@ public class HapiSequenceStyleGenerator
 	private ISequenceValueMassager myIdMassager;
 	private boolean myConfigured;
 	private String myGeneratorName;
+	private final SequenceFetchStatistics mySequenceFetchStatistics = new SequenceFetchStatistics();
 
 	@Override
 	public boolean supportsBulkInsertionIdentifierGeneration() {
@@ -74,7 +82,8 @@ public class HapiSequenceStyleGenerator
 			throws HibernateException {
 		Long retVal = myIdMassager != null ? myIdMassager.generate(myGeneratorName) : null;
 		if (retVal == null) {
-			Long next = (Long) myGen.generate(theSession, theObject);
+			AccessCallback callback = myGen.getDatabaseStructure().buildCallback(theSession);
+			Long next = (Long) myGen.getOptimizer().generate(new TimingAccessCallback(callback));
 			retVal = myIdMassager.massage(myGeneratorName, next);
 		}
 		return retVal;
@@ -123,4 +132,82 @@ public class HapiSequenceStyleGenerator
 	public Optimizer getOptimizer() {
 		return myGen.getOptimizer();
 	}
+
+	/**
+	 * Returns statistics about the database round trips made by this generator to fetch new blocks
+	 * of values. Only round trips which actually hit the database are counted, since values handed
+	 * out from an already fetched block are served from memory by the optimizer.
+	 * <p>
+	 * Each entity manager factory creates its own generator instances, so these statistics only cover
+	 * the sequence as used by one factory. The generator for an entity can be obtained from the
+	 * Hibernate entity persister, e.g.
+	 * <code>sessionFactory.getMappingMetamodel().getEntityDescriptor(ResourceTable.class).getGenerator()</code>.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public SequenceFetchStatistics getSequenceFetchStatistics() {
+		return mySequenceFetchStatistics;
+	}
+
+	/**
+	 * Wraps the sequence access callback so that time spent waiting on the database for a new
+	 * block of values is recorded
+	 */
+	private class TimingAccessCallback implements AccessCallback {
+		private final AccessCallback myDelegate;
+
+		private TimingAccessCallback(AccessCallback theDelegate) {
+			myDelegate = theDelegate;
+		}
+
+		@Override
+		public IntegralDataTypeHolder getNextValue() {
+			long start = System.nanoTime();
+			try {
+				return myDelegate.getNextValue();
+			} finally {
+				long elapsedNanos = System.nanoTime() - start;
+				mySequenceFetchStatistics.addFetch(elapsedNanos);
+				ourLog.debug(
+						"Fetched new block of values for sequence {} in {}ms",
+						myGeneratorName,
+						TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+			}
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return myDelegate.getTenantIdentifier();
+		}
+	}
+
+	/**
+	 * Counters for the database round trips made by a single sequence generator
+	 *
+	 * @since 7.8.0
+	 */
+	public static class SequenceFetchStatistics {
+		private final AtomicLong myFetchCount = new AtomicLong();
+		private final AtomicLong myFetchNanos = new AtomicLong();
+
+		void addFetch(long theElapsedNanos) {
+			myFetchCount.incrementAndGet();
+			myFetchNanos.addAndGet(theElapsedNanos);
+		}
+
+		/**
+		 * Returns the number of times a new block of values was fetched from the database
+		 */
+		public long getFetchCount() {
+			return myFetchCount.get();
+		}
+
+		/**
+		 * Returns the total time spent waiting on the database for new blocks of values
+		 */
+		public long getFetchMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(myFetchNanos.get());
+		}
+	}
 }
@@ -49,7 +49,17 @@ public enum ResourceEncodingEnum {
 	 * Externally stored resource - Resource text is a reference to an external storage location,
 	 * which will be stored in {@link ResourceHistoryTable#getResourceTextVc()}
 	 */
-	ESR;
+	ESR,
+
+	/**
+	 * Smile (binary JSON) - The JSON encoding of the resource, stored in the
+	 * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> binary format.
+	 * This is both smaller and faster to decode than {@link #JSON}, since resources can be
+	 * parsed directly from the binary content without an intermediate text parse.
+	 *
+	 * @since 7.8.0
+	 */
+	SMILE;
 
 	public IParser newParser(FhirContext theContext) {
 		return theContext.newJsonParser();
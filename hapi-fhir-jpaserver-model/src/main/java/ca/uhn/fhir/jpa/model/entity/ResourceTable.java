@@ -104,6 +104,7 @@ public class ResourceTable extends BaseHasResource implements Serializable, IBas
 	private static final int MAX_LANGUAGE_LENGTH = 20;
 	private static final long serialVersionUID = 1L;
 	public static final int MAX_FORCED_ID_LENGTH = 100;
+	public static final int MAX_INDEX_DIGESTS_LENGTH = 500;
 	public static final String IDX_RES_TYPE_FHIR_ID = "IDX_RES_TYPE_FHIR_ID";
 
 	/**
@@ -288,6 +289,16 @@ public class ResourceTable extends BaseHasResource implements Serializable, IBas
 	@Column(name = "SP_CMPTOKS_PRESENT")
 	private Boolean myParamsComboTokensNonUniquePresent = false;
 
+	/**
+	 * Digests of the search index rows stored for this resource, per index table.
+	 * Used to skip unchanged index tables when the resource is updated.
+	 *
+	 * @since 7.8.0
+	 */
+	@OptimisticLock(excluded = true)
+	@Column(name = "SP_INDEX_DIGESTS", length = MAX_INDEX_DIGESTS_LENGTH, nullable = true)
+	private String myIndexDigests;
+
 	@OneToMany(
 			mappedBy = "myResource",
 			cascade = {},
@@ -702,6 +713,21 @@ public class ResourceTable extends BaseHasResource implements Serializable, IBas
 		myParamsQuantityNormalizedPopulated = false;
 		myParamsUriPopulated = false;
 		myHasLinks = false;
+		myIndexDigests = null;
+	}
+
+	/**
+	 * @since 7.8.0
+	 */
+	public String getIndexDigests() {
+		return myIndexDigests;
+	}
+
+	/**
+	 * @since 7.8.0
+	 */
+	public void setIndexDigests(String theIndexDigests) {
+		myIndexDigests = theIndexDigests;
 	}
 
 	public boolean isParamsComboStringUniquePresent() {
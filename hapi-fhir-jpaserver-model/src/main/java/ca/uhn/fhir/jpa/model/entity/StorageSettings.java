@@ -95,6 +95,7 @@ public class StorageSettings {
 	private boolean myAutoCreatePlaceholderReferenceTargets;
 	private Integer myBundleBatchPoolSize = DEFAULT_BUNDLE_BATCH_POOL_SIZE;
 	private Integer myBundleBatchMaxPoolSize = DEFAULT_BUNDLE_BATCH_MAX_POOL_SIZE;
+	private boolean myBundleBatchParallelWritesEnabled = false;
 	private boolean myMassIngestionMode;
 	private Integer myMaximumTransactionBundleSize = DEFAULT_MAXIMUM_TRANSACTION_BUNDLE_SIZE;
 	private boolean myNormalizeTerminologyForBulkExportJobs = false;
@@ -239,6 +240,36 @@ public class StorageSettings {
 		this.myBundleBatchMaxPoolSize = theBundleBatchMaxPoolSize;
 	}
 
+	/**
+	 * If enabled (default is <code>false</code>), the create, update, patch and delete entries in a
+	 * <code>batch</code> Bundle are processed in parallel using the batch thread pool (see
+	 * {@link #setBundleBatchPoolSize(Integer)}), each in its own database transaction, just like
+	 * <code>GET</code> entries. Entries which could affect the same resource (the same resource ID,
+	 * or conditional operations on the same resource type) are still processed one after the other
+	 * in the order they appear in the Bundle. This setting has no effect on <code>transaction</code>
+	 * Bundles, or if the pool size is 1.
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isBundleBatchParallelWritesEnabled() {
+		return myBundleBatchParallelWritesEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), the create, update, patch and delete entries in a
+	 * <code>batch</code> Bundle are processed in parallel using the batch thread pool (see
+	 * {@link #setBundleBatchPoolSize(Integer)}), each in its own database transaction, just like
+	 * <code>GET</code> entries. Entries which could affect the same resource (the same resource ID,
+	 * or conditional operations on the same resource type) are still processed one after the other
+	 * in the order they appear in the Bundle. This setting has no effect on <code>transaction</code>
+	 * Bundles, or if the pool size is 1.
+	 *
+	 * @since 7.8.0
+	 */
+	public void setBundleBatchParallelWritesEnabled(boolean theBundleBatchParallelWritesEnabled) {
+		myBundleBatchParallelWritesEnabled = theBundleBatchParallelWritesEnabled;
+	}
+
 	/**
 	 * If set to {@link IndexEnabledEnum#DISABLED} (default is {@link IndexEnabledEnum#DISABLED})
 	 * the server will not create search indexes for search parameters with no values in resources.
@@ -0,0 +1,196 @@
+/*
+ * #%L
+ * HAPI FHIR JPA - Search Parameters
+ * %%
+ * Copyright (C) 2014 - 2024 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package ca.uhn.fhir.jpa.searchparam;
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * The position of the last resource on the previous page of a keyset paged search. See
+ * {@link SearchParameterMap#setKeysetPosition(KeysetPosition)}.
+ * <p>
+ * A keyset paged search must be sorted by <code>_pid</code> (this is the default if no sort is
+ * given), <code>_lastUpdated</code> or <code>_id</code>. Ties are broken by the resource PID, and
+ * only resources which sort after the position are returned. The database can seek directly to
+ * the start of each page, so deep pages cost the same as the first page. This is not the case
+ * for <code>_offset</code> paging.
+ * </p>
+ * <p>
+ * A position can be passed between requests as an opaque token using {@link #toToken()} and
+ * {@link #fromToken(String)}.
+ * </p>
+ *
+ * @since 7.8.0
+ */
+public class KeysetPosition implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private static final KeysetPosition START = new KeysetPosition(null, null);
+	private static final char TOKEN_SEPARATOR = '_';
+
+	private final String mySortValue;
+	private final Long myResourcePid;
+
+	private KeysetPosition(@Nullable String theSortValue, @Nullable Long theResourcePid) {
+		mySortValue = theSortValue;
+		myResourcePid = theResourcePid;
+	}
+
+	/**
+	 * The position before the first resource, used to request the first page
+	 */
+	public static KeysetPosition start() {
+		return START;
+	}
+
+	/**
+	 * The position after the given resource, for searches sorted by <code>_pid</code>
+	 */
+	public static KeysetPosition afterPid(long theResourcePid) {
+		return new KeysetPosition(null, theResourcePid);
+	}
+
+	/**
+	 * The position after the given resource, for searches sorted by <code>_lastUpdated</code>
+	 */
+	public static KeysetPosition afterLastUpdated(@Nonnull Date theLastUpdated, long theResourcePid) {
+		Validate.notNull(theLastUpdated, "theLastUpdated must not be null");
+		return new KeysetPosition(Long.toString(theLastUpdated.getTime()), theResourcePid);
+	}
+
+	/**
+	 * The position after the given resource, for searches sorted by <code>_id</code>
+	 */
+	public static KeysetPosition afterResourceId(@Nonnull String theResourceId, long theResourcePid) {
+		Validate.notBlank(theResourceId, "theResourceId must not be blank");
+		return new KeysetPosition(theResourceId, theResourcePid);
+	}
+
+	/**
+	 * Parses a token created by {@link #toToken()}
+	 *
+	 * @throws InvalidRequestException If the token is not valid
+	 */
+	public static KeysetPosition fromToken(@Nullable String theToken) {
+		if (isBlank(theToken)) {
+			return START;
+		}
+
+		int separatorIdx = theToken.lastIndexOf(TOKEN_SEPARATOR);
+		try {
+			long resourcePid = Long.parseLong(theToken.substring(separatorIdx + 1));
+			String sortValue = separatorIdx > 0 ? theToken.substring(0, separatorIdx) : null;
+			return new KeysetPosition(sortValue, resourcePid);
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException(Msg.code(2797) + "Invalid keyset paging position: " + theToken);
+		}
+	}
+
+	public boolean isStart() {
+		return myResourcePid == null;
+	}
+
+	/**
+	 * The value of the sort column for the last resource of the previous page, or <code>null</code>
+	 * for a search sorted by <code>_pid</code>. For <code>_lastUpdated</code> this is the
+	 * number of milliseconds since the epoch.
+	 */
+	@Nullable
+	public String getSortValue() {
+		return mySortValue;
+	}
+
+	@Nullable
+	public Long getResourcePid() {
+		return myResourcePid;
+	}
+
+	/**
+	 * Returns the value of {@link #getSortValue()}
+	 *
+	 * @throws InvalidRequestException If this position was created for a <code>_pid</code> sort
+	 */
+	@Nonnull
+	public String getSortValueAsString() {
+		if (mySortValue == null) {
+			throw newSortMismatchException();
+		}
+		return mySortValue;
+	}
+
+	/**
+	 * Returns the value of {@link #getSortValue()} as a timestamp
+	 *
+	 * @throws InvalidRequestException If this position was not created for a <code>_lastUpdated</code> sort
+	 */
+	@Nonnull
+	public Date getSortValueAsDate() {
+		try {
+			return new Date(Long.parseLong(getSortValueAsString()));
+		} catch (NumberFormatException e) {
+			throw newSortMismatchException();
+		}
+	}
+
+	private InvalidRequestException newSortMismatchException() {
+		return new InvalidRequestException(
+				Msg.code(2798) + "Keyset paging position does not match the search sort: " + toToken());
+	}
+
+	/**
+	 * Returns an opaque token which can be passed to {@link #fromToken(String)}
+	 */
+	public String toToken() {
+		if (isStart()) {
+			return "";
+		}
+		if (mySortValue == null) {
+			return myResourcePid.toString();
+		}
+		return mySortValue + TOKEN_SEPARATOR + myResourcePid;
+	}
+
+	@Override
+	public boolean equals(Object theO) {
+		if (this == theO) return true;
+		if (!(theO instanceof KeysetPosition)) return false;
+		KeysetPosition that = (KeysetPosition) theO;
+		return Objects.equals(mySortValue, that.mySortValue) && Objects.equals(myResourcePid, that.myResourcePid);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(mySortValue, myResourcePid);
+	}
+
+	@Override
+	public String toString() {
+		return toToken();
+	}
+}
@@ -71,6 +71,7 @@ public class SearchParameterMap implements Serializable {
 	private final HashMap<String, List<List<IQueryParameterType>>> mySearchParameterMap = new LinkedHashMap<>();
 	private Integer myCount;
 	private Integer myOffset;
+	private KeysetPosition myKeysetPosition;
 	private EverythingModeEnum myEverythingMode = null;
 	private Set<Include> myIncludes;
 	private DateRangeParam myLastUpdated;
@@ -122,6 +123,7 @@ public class SearchParameterMap implements Serializable {
 		map.setNearDistanceParam(getNearDistanceParam());
 		map.setLoadSynchronousUpTo(getLoadSynchronousUpTo());
 		map.setOffset(getOffset());
+		map.setKeysetPosition(getKeysetPosition());
 		map.setSearchContainedMode(getSearchContainedMode());
 
 		for (Map.Entry<String, List<List<IQueryParameterType>>> entry : mySearchParameterMap.entrySet()) {
@@ -280,6 +282,29 @@ public class SearchParameterMap implements Serializable {
 		myOffset = theOffset;
 	}
 
+	/**
+	 * If set, the search uses keyset paging and only returns resources which sort after the given
+	 * position. Use {@link KeysetPosition#start()} to request the first page. The search must not
+	 * have an offset, and must be sorted by a single <code>_pid</code>, <code>_lastUpdated</code> or
+	 * <code>_id</code>, or not sorted at all (in which case <code>_pid</code> ascending is used).
+	 * Keyset paged searches are always performed synchronously.
+	 *
+	 * @see KeysetPosition
+	 * @since 7.8.0
+	 */
+	@JsonIgnore
+	public KeysetPosition getKeysetPosition() {
+		return myKeysetPosition;
+	}
+
+	/**
+	 * @see #getKeysetPosition()
+	 * @since 7.8.0
+	 */
+	public void setKeysetPosition(KeysetPosition theKeysetPosition) {
+		myKeysetPosition = theKeysetPosition;
+	}
+
 	public EverythingModeEnum getEverythingMode() {
 		return myEverythingMode;
 	}
@@ -531,6 +556,13 @@ public class SearchParameterMap implements Serializable {
 			b.append(getOffset());
 		}
 
+		if (getKeysetPosition() != null) {
+			addUrlParamSeparator(b);
+			b.append(Constants.PARAM_SEARCH_AFTER);
+			b.append('=');
+			b.append(UrlUtil.escapeUrlParam(getKeysetPosition().toToken()));
+		}
+
 		// Summary mode (_summary)
 		if (getSummaryMode() != null) {
 			addUrlParamSeparator(b);
@@ -55,9 +55,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.apache.commons.lang3.StringUtils.compare;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -78,6 +80,7 @@ public final class ResourceIndexedSearchParams {
 	public final Collection<SearchParamPresentEntity> mySearchParamPresentEntities;
 	public final Collection<ResourceIndexedSearchParamComposite> myCompositeParams;
 	public final Set<String> myPopulatedResourceLinkParameters = new HashSet<>();
+	private final Set<Collection<?>> myDeferredCollections = Collections.newSetFromMap(new IdentityHashMap<>());
 
 	/**
 	 * TODO: Remove this - Currently used by CDR though
@@ -105,32 +108,27 @@ public final class ResourceIndexedSearchParams {
 		myCompositeParams = theMode.newCollection();
 	}
 
-	private ResourceIndexedSearchParams(ResourceTable theEntity, Mode theMode) {
+	private ResourceIndexedSearchParams(ResourceTable theEntity, Mode theMode, boolean theDeferIndexRows) {
 		this(theMode);
-		if (theEntity.isParamsStringPopulated()) {
-			myStringParams.addAll(theEntity.getParamsString());
-		}
-		if (theEntity.isParamsTokenPopulated()) {
-			myTokenParams.addAll(theEntity.getParamsToken());
-		}
-		if (theEntity.isParamsNumberPopulated()) {
-			myNumberParams.addAll(theEntity.getParamsNumber());
-		}
-		if (theEntity.isParamsQuantityPopulated()) {
-			myQuantityParams.addAll(theEntity.getParamsQuantity());
-		}
-		if (theEntity.isParamsQuantityNormalizedPopulated()) {
-			myQuantityNormalizedParams.addAll(theEntity.getParamsQuantityNormalized());
-		}
-		if (theEntity.isParamsDatePopulated()) {
-			myDateParams.addAll(theEntity.getParamsDate());
-		}
-		if (theEntity.isParamsUriPopulated()) {
-			myUriParams.addAll(theEntity.getParamsUri());
-		}
-		if (theEntity.isParamsCoordsPopulated()) {
-			myCoordsParams.addAll(theEntity.getParamsCoords());
-		}
+		addAllOrDefer(
+				theEntity.isParamsStringPopulated(), myStringParams, theEntity::getParamsString, theDeferIndexRows);
+		addAllOrDefer(theEntity.isParamsTokenPopulated(), myTokenParams, theEntity::getParamsToken, theDeferIndexRows);
+		addAllOrDefer(
+				theEntity.isParamsNumberPopulated(), myNumberParams, theEntity::getParamsNumber, theDeferIndexRows);
+		addAllOrDefer(
+				theEntity.isParamsQuantityPopulated(),
+				myQuantityParams,
+				theEntity::getParamsQuantity,
+				theDeferIndexRows);
+		addAllOrDefer(
+				theEntity.isParamsQuantityNormalizedPopulated(),
+				myQuantityNormalizedParams,
+				theEntity::getParamsQuantityNormalized,
+				theDeferIndexRows);
+		addAllOrDefer(theEntity.isParamsDatePopulated(), myDateParams, theEntity::getParamsDate, theDeferIndexRows);
+		addAllOrDefer(theEntity.isParamsUriPopulated(), myUriParams, theEntity::getParamsUri, theDeferIndexRows);
+		addAllOrDefer(
+				theEntity.isParamsCoordsPopulated(), myCoordsParams, theEntity::getParamsCoords, theDeferIndexRows);
 		if (theEntity.isHasLinks()) {
 			myLinks.addAll(theEntity.getResourceLinks());
 		}
@@ -138,11 +136,36 @@ public final class ResourceIndexedSearchParams {
 		if (theEntity.isParamsComboStringUniquePresent()) {
 			myComboStringUniques.addAll(theEntity.getParamsComboStringUnique());
 		}
-		if (theEntity.isParamsComboTokensNonUniquePresent()) {
-			myComboTokenNonUnique.addAll(theEntity.getmyParamsComboTokensNonUnique());
+		addAllOrDefer(
+				theEntity.isParamsComboTokensNonUniquePresent(),
+				myComboTokenNonUnique,
+				theEntity::getmyParamsComboTokensNonUnique,
+				theDeferIndexRows);
+	}
+
+	private <T> void addAllOrDefer(
+			boolean thePopulated,
+			Collection<T> theCollection,
+			Supplier<Collection<T>> theEntityCollection,
+			boolean theDefer) {
+		if (thePopulated) {
+			if (theDefer) {
+				myDeferredCollections.add(theCollection);
+			} else {
+				theCollection.addAll(theEntityCollection.get());
+			}
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the given collection belongs to this object and was created by
+	 * {@link #withListsDeferringIndexRows(ResourceTable)}, meaning that the entity has index rows of
+	 * this type but they have not been loaded into the collection.
+	 */
+	public boolean isDeferred(Collection<?> theCollection) {
+		return myDeferredCollections.contains(theCollection);
+	}
+
 	public Collection<ResourceLink> getResourceLinks() {
 		return myLinks;
 	}
@@ -651,7 +674,20 @@ public final class ResourceIndexedSearchParams {
 	 * in lists so that any duplicates are preserved.
 	 */
 	public static ResourceIndexedSearchParams withLists(ResourceTable theResourceTable) {
-		return new ResourceIndexedSearchParams(theResourceTable, Mode.LIST);
+		return new ResourceIndexedSearchParams(theResourceTable, Mode.LIST, false);
+	}
+
+	/**
+	 * Like {@link #withLists(ResourceTable)}, but the string, token, number, quantity, date, URI,
+	 * coords and non-unique combo index rows of the entity are not loaded. Collections for which
+	 * the entity has rows are flagged instead (see {@link #isDeferred(Collection)}), so that they
+	 * can be loaded only if they actually need to be compared with a new set of index rows.
+	 * Resource links and unique combo rows are always loaded.
+	 *
+	 * @since 7.8.0
+	 */
+	public static ResourceIndexedSearchParams withListsDeferringIndexRows(ResourceTable theResourceTable) {
+		return new ResourceIndexedSearchParams(theResourceTable, Mode.LIST, true);
 	}
 
 	private enum Mode {
@@ -36,6 +36,19 @@ class SearchParameterMapTest {
 		assertEquals("?_lastUpdated=ge2021-05-31", map.toNormalizedQueryString(ourFhirContext));
 	}
 
+	@Test
+	void toNormalizedQueryStringKeysetPosition() {
+		SearchParameterMap map = new SearchParameterMap();
+		map.setKeysetPosition(KeysetPosition.afterLastUpdated(new java.util.Date(1234567L), 99L));
+		assertEquals("?_searchAfter=1234567_99", map.toNormalizedQueryString(ourFhirContext));
+		assertEquals(map.getKeysetPosition(), map.clone().getKeysetPosition());
+
+		assertEquals(KeysetPosition.afterResourceId("A-1.b", 5L), KeysetPosition.fromToken("A-1.b_5"));
+		assertEquals(KeysetPosition.afterPid(5L), KeysetPosition.fromToken("5"));
+		assertEquals(KeysetPosition.start(), KeysetPosition.fromToken(""));
+		assertEquals(1234567L, KeysetPosition.fromToken("1234567_99").getSortValueAsDate().getTime());
+	}
+
 	@Test
 	void toNormalizedQueryString_IncludeNormal() {
 		SearchParameterMap map = new SearchParameterMap();
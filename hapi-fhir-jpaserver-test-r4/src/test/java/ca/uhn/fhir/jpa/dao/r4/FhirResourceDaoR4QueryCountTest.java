@@ -35,11 +35,14 @@ import ca.uhn.fhir.jpa.subscription.triggering.SubscriptionTriggeringSvcImpl;
 import ca.uhn.fhir.jpa.term.TermReadSvcImpl;
 import ca.uhn.fhir.jpa.test.util.SubscriptionTestUtil;
 import ca.uhn.fhir.jpa.util.SqlQuery;
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.api.server.SystemRequestDetails;
+import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenParam;
 import ca.uhn.fhir.rest.server.SimpleBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
@@ -61,6 +64,7 @@ import org.hl7.fhir.r4.model.CodeType;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.Coverage;
+import org.hl7.fhir.r4.model.DateType;
 import org.hl7.fhir.r4.model.DateTimeType;
 import org.hl7.fhir.r4.model.Encounter;
 import org.hl7.fhir.r4.model.ExplanationOfBenefit;
@@ -175,6 +179,7 @@ public class FhirResourceDaoR4QueryCountTest extends BaseResourceProviderR4Test
 		myStorageSettings.setExpungeEnabled(false);
 		myStorageSettings.setUniqueIndexesEnabled(new JpaStorageSettings().isUniqueIndexesEnabled());
 		myStorageSettings.setUniqueIndexesCheckedBeforeSave(new JpaStorageSettings().isUniqueIndexesCheckedBeforeSave());
+		myStorageSettings.setSearchIndexDigestsEnabled(new JpaStorageSettings().isSearchIndexDigestsEnabled());
 
 		myFhirContext.getParserOptions().setStripVersionsFromReferences(true);
 		TermReadSvcImpl.setForceDisableHibernateSearchForUnitTest(false);
@@ -312,6 +317,48 @@ public class FhirResourceDaoR4QueryCountTest extends BaseResourceProviderR4Test
 		assertThat(myCaptureQueriesListener.getDeleteQueriesForCurrentThread()).isEmpty();
 	}
 
+	@Test
+	public void testUpdateWithChanges_SearchIndexDigestsEnabled() {
+		myStorageSettings.setSearchIndexDigestsEnabled(true);
+
+		IIdType id = runInTransaction(() -> {
+			Patient p = new Patient();
+			p.addIdentifier().setSystem("urn:system").setValue("2");
+			p.addName().setFamily("FAMILY").addGiven("GIVEN");
+			p.setBirthDateElement(new DateType("2020-01-01"));
+			return myPatientDao.create(p).getId().toUnqualified();
+		});
+
+		// Only the date index changes, so the string and token index rows aren't loaded
+		myCaptureQueriesListener.clear();
+		runInTransaction(() -> {
+			Patient p = new Patient();
+			p.setId(id.getIdPart());
+			p.addIdentifier().setSystem("urn:system").setValue("2");
+			p.addName().setFamily("FAMILY").addGiven("GIVEN");
+			p.setBirthDateElement(new DateType("2021-01-01"));
+			myPatientDao.update(p).getResource();
+		});
+		myCaptureQueriesListener.logSelectQueriesForCurrentThread();
+		List<String> selectQueries = myCaptureQueriesListener.getSelectQueriesForCurrentThread()
+			.stream()
+			.map(t -> t.getSql(false, false).toLowerCase())
+			.toList();
+		assertThat(selectQueries).noneMatch(t -> t.contains("hfj_spidx_string"));
+		assertThat(selectQueries).noneMatch(t -> t.contains("hfj_spidx_token"));
+		assertThat(selectQueries).anyMatch(t -> t.contains("hfj_spidx_date"));
+
+		// The unchanged indexes still work, and the changed one was updated
+		SearchParameterMap map = SearchParameterMap.newSynchronous(Patient.SP_FAMILY, new StringParam("FAMILY"));
+		assertThat(toUnqualifiedVersionlessIdValues(myPatientDao.search(map, mySrd))).containsExactly(id.toUnqualifiedVersionless().getValue());
+		map = SearchParameterMap.newSynchronous(Patient.SP_IDENTIFIER, new TokenParam("urn:system", "2"));
+		assertThat(toUnqualifiedVersionlessIdValues(myPatientDao.search(map, mySrd))).containsExactly(id.toUnqualifiedVersionless().getValue());
+		map = SearchParameterMap.newSynchronous(Patient.SP_BIRTHDATE, new DateParam("2021-01-01"));
+		assertThat(toUnqualifiedVersionlessIdValues(myPatientDao.search(map, mySrd))).containsExactly(id.toUnqualifiedVersionless().getValue());
+		map = SearchParameterMap.newSynchronous(Patient.SP_BIRTHDATE, new DateParam("2020-01-01"));
+		assertThat(toUnqualifiedVersionlessIdValues(myPatientDao.search(map, mySrd))).isEmpty();
+	}
+
 	/**
 	 * See the class javadoc before changing the counts in this test!
 	 */
@@ -1682,6 +1729,39 @@ public class FhirResourceDaoR4QueryCountTest extends BaseResourceProviderR4Test
 		assertThat(myCaptureQueriesListener.getDeleteQueriesForCurrentThread()).isEmpty();
 	}
 
+	/**
+	 * Includes which share the same target resource types should be fetched
+	 * using a single query.
+	 * See the class javadoc before changing the counts in this test!
+	 */
+	@Test
+	public void testSearchWithMultipleIncludesSharingTargetTypes_Sync() {
+		// Setup
+		createPatient(withId("A"), withFamily("Hello"));
+		createPatient(withId("B"), withFamily("World"));
+		createObservation(withId("O"), withSubject("Patient/A"), withReference("performer", new IdType("Patient/B")));
+		List<String> ids;
+
+		// Test
+		myCaptureQueriesListener.clear();
+		SearchParameterMap map = new SearchParameterMap();
+		map.setLoadSynchronous(true);
+		map.addInclude(new Include("Observation:subject:Patient"));
+		map.addInclude(new Include("Observation:performer:Patient"));
+		ids = toUnqualifiedVersionlessIdValues(myObservationDao.search(map, mySrd));
+		assertThat(ids).containsExactlyInAnyOrder("Patient/A", "Patient/B", "Observation/O");
+
+		// Verify
+		myCaptureQueriesListener.logSelectQueriesForCurrentThread();
+		assertThat(myCaptureQueriesListener.getSelectQueriesForCurrentThread()).hasSize(3);
+		List<String> includeSql = myCaptureQueriesListener.getSelectQueriesForCurrentThread().stream()
+			.map(t -> t.getSql(true, false))
+			.filter(t -> t.contains("hfj_res_link"))
+			.toList();
+		assertThat(includeSql).hasSize(1);
+		assertThat(includeSql.get(0)).contains("src_path IN (", "Observation.subject", "Observation.performer");
+	}
+
 	/**
 	 * See the class javadoc before changing the counts in this test!
 	 */
@@ -2,9 +2,14 @@ package ca.uhn.fhir.jpa.dao.r4;
 
 import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
+import ca.uhn.fhir.jpa.dao.IJpaStorageResourceParser;
+import ca.uhn.fhir.jpa.dao.data.IResourceSearchViewDao;
 import ca.uhn.fhir.jpa.dao.data.ISearchDao;
 import ca.uhn.fhir.jpa.dao.data.ISearchResultDao;
+import ca.uhn.fhir.jpa.entity.ResourceSearchView;
 import ca.uhn.fhir.jpa.entity.Search;
+import ca.uhn.fhir.jpa.model.entity.IBaseResourceEntity;
+import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
 import ca.uhn.fhir.jpa.model.entity.ResourceTable;
 import ca.uhn.fhir.jpa.model.search.SearchStatusEnum;
 import ca.uhn.fhir.jpa.search.PersistedJpaBundleProvider;
@@ -14,6 +19,7 @@ import ca.uhn.fhir.jpa.search.builder.tasks.SearchTask;
 import ca.uhn.fhir.jpa.searchparam.MatchUrlService;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.test.BaseJpaR4Test;
+import ca.uhn.fhir.jpa.util.MemoryCacheService;
 import ca.uhn.fhir.jpa.util.QueryParameterUtils;
 import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
 import ca.uhn.fhir.rest.api.SortSpec;
@@ -29,11 +35,14 @@ import ca.uhn.fhir.rest.param.TokenParam;
 import ca.uhn.fhir.rest.param.TokenParamModifier;
 import ca.uhn.fhir.rest.server.exceptions.InternalErrorException;
 import ca.uhn.fhir.test.utilities.ProxyUtil;
+import ca.uhn.fhir.util.BundleBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.hl7.fhir.r4.model.BodyStructure;
+import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.DateTimeType;
@@ -41,6 +50,7 @@ import org.hl7.fhir.r4.model.Device;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.Extension;
 import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Meta;
 import org.hl7.fhir.r4.model.Observation;
 import org.hl7.fhir.r4.model.Organization;
 import org.hl7.fhir.r4.model.Patient;
@@ -87,6 +97,10 @@ public class FhirResourceDaoR4SearchOptimizedTest extends BaseJpaR4Test {
 	private ISearchResultDao mySearchResultDao;
 	@Autowired
 	private MatchUrlService myMatchUrlService;
+	@Autowired
+	private IJpaStorageResourceParser myJpaStorageResourceParser;
+	@Autowired
+	private IResourceSearchViewDao myResourceSearchViewDao;
 
 	@Override
 	@BeforeEach
@@ -107,6 +121,8 @@ public class FhirResourceDaoR4SearchOptimizedTest extends BaseJpaR4Test {
 		myStorageSettings.setSearchPreFetchThresholds(new JpaStorageSettings().getSearchPreFetchThresholds());
 		myCaptureQueriesListener.setCaptureQueryStackTrace(false);
 		myStorageSettings.setIndexMissingFields(new JpaStorageSettings().getIndexMissingFields());
+		myStorageSettings.setSearchFirstPageEarlySyncEnabled(new JpaStorageSettings().isSearchFirstPageEarlySyncEnabled());
+		myStorageSettings.setParsedResourceCacheEnabled(new JpaStorageSettings().isParsedResourceCacheEnabled());
 	}
 
 	private void create200Patients() {
@@ -282,6 +298,156 @@ public class FhirResourceDaoR4SearchOptimizedTest extends BaseJpaR4Test {
 		assertEquals(200, search2Size.intValue());
 	}
 
+	@Test
+	public void testFetchFirstPageBeforeFirstSyncWithEarlySync() {
+		create200Patients();
+
+		mySearchCoordinatorSvcImpl.setLoadingThrottleForUnitTests(25);
+		myStorageSettings.setSearchFirstPageEarlySyncEnabled(true);
+		myStorageSettings.setSearchPreFetchThresholds(Arrays.asList(100, -1));
+
+		SearchParameterMap params = new SearchParameterMap();
+		params.setSort(new SortSpec(Patient.SP_NAME));
+		params.setCount(5);
+		IBundleProvider results = myPatientDao.search(params);
+		String uuid = results.getUuid();
+		ourLog.info("** Search returned UUID: {}", uuid);
+
+		/*
+		 * The first page is stored as soon as it has been found, so it is available
+		 * while the rest of the first pass is still being loaded
+		 */
+		List<String> ids = toUnqualifiedVersionlessIdValues(results, 0, 5, true);
+		assertEquals("Patient/PT00000", ids.get(0));
+		assertEquals("Patient/PT00004", ids.get(4));
+		runInTransaction(() -> {
+			Search search = mySearchEntityDao.findByUuidAndFetchIncludes(uuid).orElseThrow(() -> new InternalErrorException(""));
+			assertEquals(SearchStatusEnum.LOADING, search.getStatus());
+		});
+
+		await().until(() -> runInTransaction(() -> mySearchEntityDao
+			.findByUuidAndFetchIncludes(uuid)
+			.orElseThrow(() -> new InternalErrorException(""))
+			.getStatus() == SearchStatusEnum.PASSCMPLET));
+
+		runInTransaction(() -> {
+			Search search = mySearchEntityDao.findByUuidAndFetchIncludes(uuid).orElseThrow(() -> new InternalErrorException(""));
+			assertEquals(101, search.getNumFound());
+			assertEquals(search.getNumFound(), mySearchResultDao.count());
+		});
+	}
+
+	@Test
+	public void testParsedResourceCache() {
+		myStorageSettings.setParsedResourceCacheEnabled(true);
+
+		Organization org = new Organization();
+		org.setName("ORG NAME");
+		IIdType orgId = myOrganizationDao.create(org, mySrd).getId().toUnqualifiedVersionless();
+		for (int i = 0; i < 2; i++) {
+			Patient patient = new Patient();
+			patient.setManagingOrganization(new Reference(orgId));
+			myPatientDao.create(patient, mySrd);
+		}
+
+		// Resources handed out are copies, so changing them doesn't affect the cached version
+		Organization foundOrg = searchForPatientsAndIncludedOrganization();
+		assertEquals("ORG NAME", foundOrg.getName());
+		assertThat(myMemoryCacheService.getEstimatedSize(MemoryCacheService.CacheEnum.PARSED_RESOURCE)).isGreaterThan(0);
+		foundOrg.setName("CHANGED");
+		foundOrg = searchForPatientsAndIncludedOrganization();
+		assertEquals("ORG NAME", foundOrg.getName());
+		assertEquals("1", foundOrg.getMeta().getVersionId());
+
+		// Metadata is always populated from the database
+		Meta meta = new Meta();
+		meta.addTag("http://tags", "tag0", null);
+		myOrganizationDao.metaAddOperation(orgId, meta, mySrd);
+		foundOrg = searchForPatientsAndIncludedOrganization();
+		assertEquals("ORG NAME", foundOrg.getName());
+		assertThat(foundOrg.getMeta().getTag()).hasSize(1);
+
+		// A new version is parsed again
+		org = new Organization();
+		org.setId(orgId);
+		org.setName("NEW NAME");
+		myOrganizationDao.update(org, mySrd);
+		foundOrg = searchForPatientsAndIncludedOrganization();
+		assertEquals("NEW NAME", foundOrg.getName());
+		assertEquals("2", foundOrg.getMeta().getVersionId());
+	}
+
+	/**
+	 * History rows and resource rows have separate PID sequences, and every resource in a
+	 * transaction shares the same timestamp, so the cache key must use the resource PID
+	 */
+	@Test
+	public void testParsedResourceCache_SameVersionLoadedThroughEveryEntityType() {
+		myStorageSettings.setParsedResourceCacheEnabled(true);
+
+		// Push the history PID sequence ahead of the resource PID sequence
+		Patient patient = new Patient();
+		patient.setActive(true);
+		IIdType firstId = myPatientDao.create(patient, mySrd).getId().toUnqualifiedVersionless();
+		for (int i = 0; i < 3; i++) {
+			patient = new Patient();
+			patient.setId(firstId);
+			patient.addName().setFamily("FIRST" + i);
+			myPatientDao.update(patient, mySrd);
+		}
+
+		BundleBuilder bb = new BundleBuilder(myFhirContext);
+		for (int i = 0; i < 6; i++) {
+			patient = new Patient();
+			patient.addName().setFamily("FAMILY" + i);
+			bb.addTransactionCreateEntry(patient);
+		}
+		Bundle response = mySystemDao.transaction(mySrd, (Bundle) bb.getBundle());
+		List<Long> pids = response
+			.getEntry()
+			.stream()
+			.map(t -> new IdType(t.getResponse().getLocation()).getIdPartAsLong())
+			.toList();
+
+		for (int pass = 0; pass < 2; pass++) {
+			runInTransaction(() -> {
+				for (Long pid : pids) {
+					ResourceTable resourceTable = myResourceTableDao.findById(pid).orElseThrow();
+					String expected = toPatient(resourceTable).getNameFirstRep().getFamily();
+
+					ResourceHistoryTable history = myResourceHistoryTableDao.findForIdAndVersionAndFetchProvenance(pid, 1);
+					assertEquals(expected, toPatient(history).getNameFirstRep().getFamily());
+
+					ResourceSearchView view = myResourceSearchViewDao.findByResourceIds(List.of(pid)).iterator().next();
+					assertEquals(expected, toPatient(view).getNameFirstRep().getFamily());
+				}
+			});
+		}
+
+		List<String> families = runInTransaction(() -> pids
+			.stream()
+			.map(pid -> toPatient(myResourceTableDao.findById(pid).orElseThrow()).getNameFirstRep().getFamily())
+			.toList());
+		assertThat(families).containsExactly("FAMILY0", "FAMILY1", "FAMILY2", "FAMILY3", "FAMILY4", "FAMILY5");
+	}
+
+	private Patient toPatient(IBaseResourceEntity theEntity) {
+		return myJpaStorageResourceParser.toResource(Patient.class, theEntity, null, false);
+	}
+
+	private Organization searchForPatientsAndIncludedOrganization() {
+		SearchParameterMap params = SearchParameterMap.newSynchronous();
+		params.addInclude(Patient.INCLUDE_ORGANIZATION);
+		List<IBaseResource> resources = myPatientDao.search(params, mySrd).getAllResources();
+		assertThat(resources).hasSize(3);
+		return resources
+			.stream()
+			.filter(Organization.class::isInstance)
+			.map(Organization.class::cast)
+			.findFirst()
+			.orElseThrow();
+	}
+
 	@Test
 	public void testFetchCountAndData() {
 		create200Patients();
@@ -0,0 +1,47 @@
+package ca.uhn.fhir.jpa.dao.r4;
+
+import ca.uhn.fhir.jpa.model.dao.JpaPid;
+import ca.uhn.fhir.jpa.model.dialect.HapiSequenceStyleGenerator;
+import ca.uhn.fhir.jpa.model.entity.ResourceTable;
+import ca.uhn.fhir.jpa.test.BaseJpaR4Test;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FhirResourceDaoR4SequenceGeneratorTest extends BaseJpaR4Test {
+
+	@Test
+	public void testFetchStatisticsCountBlockFetchesWithoutChangingIds() {
+		HapiSequenceStyleGenerator generator = (HapiSequenceStyleGenerator) myEntityManager
+			.getEntityManagerFactory()
+			.unwrap(SessionFactoryImplementor.class)
+			.getMappingMetamodel()
+			.getEntityDescriptor(ResourceTable.class)
+			.getGenerator();
+		HapiSequenceStyleGenerator.SequenceFetchStatistics statistics = generator.getSequenceFetchStatistics();
+		long fetchCountBefore = statistics.getFetchCount();
+
+		// The generator hands out blocks of 50, so this needs at least one new block
+		List<Long> pids = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			Patient patient = new Patient();
+			patient.setActive(true);
+			pids.add(((JpaPid) myPatientDao.create(patient, mySrd).getPersistentId()).getId());
+		}
+
+		// Values come from the pooled optimizer unchanged, so sequential creates get consecutive IDs
+		for (int i = 1; i < pids.size(); i++) {
+			assertEquals(pids.get(i - 1) + 1, pids.get(i).longValue());
+		}
+
+		long fetches = statistics.getFetchCount() - fetchCountBefore;
+		assertThat(fetches).isBetween(1L, 2L);
+		assertThat(statistics.getFetchMillis()).isGreaterThanOrEqualTo(0L);
+	}
+}
@@ -2,6 +2,8 @@ package ca.uhn.fhir.jpa.dao.r4;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
+import ca.uhn.fhir.jpa.api.dao.IDao;
+import ca.uhn.fhir.jpa.searchparam.KeysetPosition;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.test.BaseJpaR4Test;
 import ca.uhn.fhir.parser.IParser;
@@ -13,6 +15,8 @@ import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.CodeableConcept;
@@ -27,10 +31,12 @@ import org.hl7.fhir.r4.model.SearchParameter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SuppressWarnings({"deprecation"})
 public class FhirResourceDaoR4SortTest extends BaseJpaR4Test {
@@ -54,6 +60,73 @@ public class FhirResourceDaoR4SortTest extends BaseJpaR4Test {
 		assertEquals(0, results.size().intValue());
 	}
 
+	@Test
+	public void testKeysetPaging() {
+		for (int i = 0; i < 25; i++) {
+			Patient p = new Patient();
+			p.setActive(true);
+			if (i % 3 == 0) {
+				p.setId("P" + (char) ('Z' - i));
+				myPatientDao.update(p);
+			} else {
+				myPatientDao.create(p);
+			}
+		}
+
+		for (SortSpec sort : new SortSpec[]{
+			null,
+			new SortSpec(Constants.PARAM_PID, SortOrderEnum.DESC),
+			new SortSpec(Constants.PARAM_LASTUPDATED, SortOrderEnum.DESC),
+			new SortSpec("_id", SortOrderEnum.ASC)
+		}) {
+			SearchParameterMap map = SearchParameterMap.newSynchronous("active", new TokenParam("true"));
+			map.setSort(sort != null ? sort : new SortSpec(Constants.PARAM_PID));
+			List<String> expected = toUnqualifiedVersionlessIdValues(myPatientDao.search(map, mySrd));
+			assertThat(expected).hasSize(25);
+
+			List<String> actual = new ArrayList<>();
+			KeysetPosition position = KeysetPosition.start();
+			while (true) {
+				map = new SearchParameterMap("active", new TokenParam("true"));
+				map.setSort(sort);
+				map.setCount(10);
+				map.setKeysetPosition(KeysetPosition.fromToken(position.toToken()));
+				List<IBaseResource> page = myPatientDao.search(map, mySrd).getAllResources();
+				if (page.isEmpty()) {
+					break;
+				}
+				actual.addAll(toUnqualifiedVersionlessIdValues(page));
+
+				Patient last = (Patient) page.get(page.size() - 1);
+				long pid = IDao.RESOURCE_PID.get(last);
+				if (sort == null || Constants.PARAM_PID.equals(sort.getParamName())) {
+					position = KeysetPosition.afterPid(pid);
+				} else if (Constants.PARAM_LASTUPDATED.equals(sort.getParamName())) {
+					position = KeysetPosition.afterLastUpdated(last.getMeta().getLastUpdated(), pid);
+				} else {
+					position = KeysetPosition.afterResourceId(last.getIdElement().getIdPart(), pid);
+				}
+			}
+
+			if (sort == null || !Constants.PARAM_LASTUPDATED.equals(sort.getParamName())) {
+				assertThat(actual).as(String.valueOf(sort)).containsExactlyElementsOf(expected);
+			} else {
+				// Resources can share a timestamp, so only the RES_ID tie-break order differs
+				assertThat(actual).as(String.valueOf(sort)).containsExactlyInAnyOrderElementsOf(expected);
+			}
+		}
+	}
+
+	@Test
+	public void testKeysetPagingUnsupportedSort() {
+		SearchParameterMap map = new SearchParameterMap();
+		map.setSort(new SortSpec("family"));
+		map.setKeysetPosition(KeysetPosition.start());
+		assertThatThrownBy(() -> myPatientDao.search(map, mySrd))
+			.isInstanceOf(InvalidRequestException.class)
+			.hasMessageContaining("Keyset paging requires");
+	}
+
 	@Test
 	public void testSortOnId() {
 		// Numeric ID
@@ -31,6 +31,8 @@ import ca.uhn.fhir.jpa.model.util.JpaConstants;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.util.SqlQuery;
 import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import ca.uhn.fhir.rest.api.SummaryEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.api.server.SystemRequestDetails;
 import ca.uhn.fhir.rest.param.DateAndListParam;
@@ -2223,6 +2225,45 @@ public class PartitioningSqlR4Test extends BasePartitioningR4Test {
 		}
 	}
 
+	@Test
+	public void testSearch_StringParam_SearchMultiplePartitions_FanOut() {
+		myPartitionSettings.setSearchFanOutAcrossPartitionsEnabled(true);
+		createPatient(withPartition(null), withFamily("FAMILY"));
+		IIdType patientId1 = createPatient(withPartition(1), withFamily("FAMILY"));
+		IIdType patientId2 = createPatient(withPartition(2), withFamily("FAMILY"));
+		createPatient(withPartition(3), withFamily("FAMILY"));
+		createPatient(withPartition(1), withFamily("BLAH"));
+		createPatient(withPartition(2), withFamily("BLAH"));
+
+		SearchParameterMap map = new SearchParameterMap();
+		map.add(Patient.SP_FAMILY, new StringParam("FAMILY"));
+		map.setLoadSynchronous(true);
+
+		addReadPartition(1, 2);
+		myCaptureQueriesListener.clear();
+		IBundleProvider results = myPatientDao.search(map, mySrd);
+		List<IIdType> ids = toUnqualifiedVersionlessIds(results);
+		myCaptureQueriesListener.logSelectQueriesForCurrentThread();
+		assertThat(ids).as(ids.toString()).containsExactlyInAnyOrder(patientId1, patientId2);
+
+		// One query per partition, each with a single partition selector
+		String searchSql1 = myCaptureQueriesListener.getSelectQueriesForCurrentThread().get(0).getSql(true, false);
+		assertThat(searchSql1).contains("PARTITION_ID = '1'");
+		assertThat(searchSql1).doesNotContain("PARTITION_ID IN");
+		String searchSql2 = myCaptureQueriesListener.getSelectQueriesForCurrentThread().get(1).getSql(true, false);
+		assertThat(searchSql2).contains("PARTITION_ID = '2'");
+		assertThat(searchSql2).doesNotContain("PARTITION_ID IN");
+
+		// Counts are summed across the partitions
+		map = new SearchParameterMap();
+		map.add(Patient.SP_FAMILY, new StringParam("FAMILY"));
+		map.setSummaryMode(SummaryEnum.COUNT);
+		map.setSearchTotalMode(SearchTotalModeEnum.ACCURATE);
+		map.setLoadSynchronous(true);
+		addReadPartition(1, 2);
+		assertEquals(2, myPatientDao.search(map, mySrd).size());
+	}
+
 	@Test
 	public void testSearch_StringParam_SearchMultiplePartitions_IncludePartitionInHashes() {
 		myPartitionSettings.setIncludePartitionInSearchHashes(true);
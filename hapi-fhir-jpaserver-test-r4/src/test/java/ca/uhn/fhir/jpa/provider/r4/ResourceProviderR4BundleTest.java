@@ -3,7 +3,9 @@ package ca.uhn.fhir.jpa.provider.r4;
 import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
 import ca.uhn.fhir.jpa.model.util.JpaConstants;
 import ca.uhn.fhir.jpa.provider.BaseResourceProviderR4Test;
+import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.test.config.TestR4Config;
+import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.server.exceptions.NotImplementedOperationException;
 import com.google.common.base.Charsets;
 import org.apache.commons.io.IOUtils;
@@ -16,6 +18,7 @@ import org.hl7.fhir.r4.model.Bundle.HTTPVerb;
 import org.hl7.fhir.r4.model.CarePlan;
 import org.hl7.fhir.r4.model.Condition;
 import org.hl7.fhir.r4.model.Enumerations.AdministrativeGender;
+import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Patient;
@@ -66,6 +69,7 @@ public class ResourceProviderR4BundleTest extends BaseResourceProviderR4Test {
 		super.after();
 		myStorageSettings.setBundleBatchPoolSize(JpaStorageSettings.DEFAULT_BUNDLE_BATCH_POOL_SIZE);
 		myStorageSettings.setBundleBatchMaxPoolSize(JpaStorageSettings.DEFAULT_BUNDLE_BATCH_MAX_POOL_SIZE);
+		myStorageSettings.setBundleBatchParallelWritesEnabled(new JpaStorageSettings().isBundleBatchParallelWritesEnabled());
 	}
 
 	/**
@@ -310,6 +314,96 @@ public class ResourceProviderR4BundleTest extends BaseResourceProviderR4Test {
 
 	}
 
+	@Test
+	public void testBundleBatchWithParallelWrites() {
+		myStorageSettings.setBundleBatchParallelWritesEnabled(true);
+
+		Bundle input = new Bundle();
+		input.setType(BundleType.BATCH);
+
+		// Plain creates
+		for (int i = 0; i < 20; i++) {
+			Patient p = new Patient();
+			p.addName().setFamily("Family " + i);
+			input.addEntry().setResource(p).getRequest().setMethod(HTTPVerb.POST).setUrl("Patient");
+		}
+
+		// Updates of the same resource, which must be applied in order
+		for (int i = 0; i < 3; i++) {
+			Patient p = new Patient();
+			p.setId("Patient/A");
+			p.addName().setFamily("Version " + i);
+			input.addEntry().setResource(p).getRequest().setMethod(HTTPVerb.PUT).setUrl("Patient/A");
+		}
+
+		// Conditional creates matching the same resource
+		for (int i = 0; i < 3; i++) {
+			Condition c = new Condition();
+			c.addIdentifier().setSystem("http://foo").setValue("bar");
+			input.addEntry().setResource(c).getRequest()
+				.setMethod(HTTPVerb.POST)
+				.setUrl("Condition")
+				.setIfNoneExist("identifier=http://foo|bar");
+		}
+
+		Bundle output = myClient.transaction().withBundle(input).execute();
+
+		List<BundleEntryComponent> bundleEntries = output.getEntry();
+		assertThat(bundleEntries).hasSize(26);
+		for (int i = 0; i < 20; i++) {
+			assertThat(bundleEntries.get(i).getResponse().getStatus()).contains("201");
+		}
+		assertThat(bundleEntries.get(20).getResponse().getStatus()).contains("201");
+		assertThat(bundleEntries.get(21).getResponse().getStatus()).contains("200");
+		assertThat(bundleEntries.get(22).getResponse().getStatus()).contains("200");
+		assertThat(bundleEntries.get(22).getResponse().getLocation()).contains("Patient/A/_history/3");
+		assertThat(bundleEntries.get(23).getResponse().getStatus()).contains("201");
+		assertThat(bundleEntries.get(24).getResponse().getStatus()).contains("200");
+		assertThat(bundleEntries.get(25).getResponse().getStatus()).contains("200");
+
+		Patient patient = myClient.read().resource(Patient.class).withId("A").execute();
+		assertEquals("Version 2", patient.getNameFirstRep().getFamily());
+		assertEquals(20, myPatientDao.search(SearchParameterMap.newSynchronous(Patient.SP_FAMILY, new StringParam("Family"))).size().intValue());
+		assertEquals(1, myConditionDao.search(SearchParameterMap.newSynchronous()).size().intValue());
+	}
+
+	/**
+	 * A plain create must not run in parallel with a conditional create of the same type, since the
+	 * conditional create has to see the resource created by an earlier entry
+	 */
+	@Test
+	public void testBundleBatchWithParallelWrites_PlainCreateBeforeConditionalCreate() {
+		myStorageSettings.setBundleBatchParallelWritesEnabled(true);
+
+		Bundle input = new Bundle();
+		input.setType(BundleType.BATCH);
+		for (int i = 0; i < 10; i++) {
+			Patient p = new Patient();
+			p.addIdentifier().setSystem("http://foo").setValue("bar" + i);
+			input.addEntry().setResource(p).getRequest().setMethod(HTTPVerb.POST).setUrl("Patient");
+
+			p = new Patient();
+			p.addIdentifier().setSystem("http://foo").setValue("bar" + i);
+			input.addEntry().setResource(p).getRequest()
+				.setMethod(HTTPVerb.POST)
+				.setUrl("Patient")
+				.setIfNoneExist("identifier=http://foo|bar" + i);
+		}
+
+		Bundle output = myClient.transaction().withBundle(input).execute();
+
+		List<BundleEntryComponent> bundleEntries = output.getEntry();
+		assertThat(bundleEntries).hasSize(20);
+		for (int i = 0; i < 10; i++) {
+			assertThat(bundleEntries.get(i * 2).getResponse().getStatus()).contains("201");
+			assertThat(bundleEntries.get(i * 2 + 1).getResponse().getStatus()).contains("200");
+			assertEquals(
+				new IdType(bundleEntries.get(i * 2).getResponse().getLocation()).toUnqualifiedVersionless().getValue(),
+				new IdType(bundleEntries.get(i * 2 + 1).getResponse().getLocation()).toUnqualifiedVersionless().getValue());
+		}
+		assertEquals(10, myPatientDao.search(SearchParameterMap.newSynchronous()).size().intValue());
+	}
+
 	@Test
 	public void testTagCacheWorksWithBatchMode() {
 		Bundle input = new Bundle();
@@ -4967,6 +4967,41 @@ public class ResourceProviderR4Test extends BaseResourceProviderR4Test {
 		assertEquals(SearchEntryMode.INCLUDE, found.getEntry().get(1).getSearch().getMode());
 	}
 
+	@Test
+	public void testSearchAfterPaging() {
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			Patient pat = new Patient();
+			pat.setId("PSA" + (char) ('Z' - i));
+			pat.addIdentifier().setSystem("urn:system:searchafter").setValue("value" + i);
+			expected.add(myClient.update().resource(pat).execute().getId().toUnqualifiedVersionless().getValue());
+		}
+		expected.sort(null);
+
+		Bundle page = myClient
+			.search()
+			.byUrl("Patient?identifier=urn:system:searchafter|&_sort=_id&_count=10&_searchAfter=")
+			.returnBundle(Bundle.class)
+			.execute();
+
+		List<String> actual = new ArrayList<>();
+		int pages = 0;
+		while (true) {
+			pages++;
+			actual.addAll(toUnqualifiedVersionlessIdValues(page));
+			assertNull(page.getLink(Constants.LINK_PREVIOUS));
+			if (page.getLink(Constants.LINK_NEXT) == null) {
+				break;
+			}
+			String next = page.getLink(Constants.LINK_NEXT).getUrl();
+			assertThat(next).contains(Constants.PARAM_SEARCH_AFTER + "=").doesNotContain(Constants.PARAM_PAGINGACTION);
+			page = myClient.loadPage().next(page).execute();
+		}
+
+		assertEquals(3, pages);
+		assertThat(actual).containsExactlyElementsOf(expected);
+	}
+
 	@Test()
 	public void testSearchWithInvalidNumberPrefix() {
 		try {
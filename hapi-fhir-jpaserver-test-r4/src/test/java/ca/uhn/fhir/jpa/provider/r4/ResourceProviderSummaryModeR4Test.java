@@ -96,6 +96,47 @@ public class ResourceProviderSummaryModeR4Test extends BaseResourceProviderR4Tes
 		assertThat(outcome.getEntry()).hasSize(10);
 	}
 
+	/**
+	 * Estimated totals may be served from a recently calculated count for the same query
+	 */
+	@Test
+	public void testSearchWithTotalEstimated() {
+		Bundle outcome = myClient
+			.search()
+			.forResource(Patient.class)
+			.where(Patient.ACTIVE.exactly().code("true"))
+			.totalMode(SearchTotalModeEnum.ESTIMATED)
+			.returnBundle(Bundle.class)
+			.execute();
+		assertEquals(new Integer(104), outcome.getTotalElement().getValue());
+		assertThat(outcome.getEntry()).hasSize(10);
+
+		Patient p = new Patient();
+		p.setActive(true);
+		myPatientDao.create(p, mySrd);
+
+		// Different page size, same set of matching resources
+		outcome = myClient
+			.search()
+			.forResource(Patient.class)
+			.where(Patient.ACTIVE.exactly().code("true"))
+			.totalMode(SearchTotalModeEnum.ESTIMATED)
+			.count(5)
+			.returnBundle(Bundle.class)
+			.execute();
+		assertEquals(new Integer(104), outcome.getTotalElement().getValue());
+		assertThat(outcome.getEntry()).hasSize(5);
+
+		outcome = myClient
+			.search()
+			.forResource(Patient.class)
+			.where(Patient.ACTIVE.exactly().code("true"))
+			.totalMode(SearchTotalModeEnum.ACCURATE)
+			.returnBundle(Bundle.class)
+			.execute();
+		assertEquals(new Integer(105), outcome.getTotalElement().getValue());
+	}
+
 	/**
 	 * Count and data via config - Should include both a count and the data portions of results
 	 */
@@ -24,7 +24,9 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -49,6 +51,24 @@ public class SearchQueryBuilderTest {
 		myRequestPartitionId = RequestPartitionId.allPartitions();
 	}
 
+	@Test
+	public void testGenerateWithManyBindVariables() {
+		HibernatePropertiesProvider dialectProvider = new HibernatePropertiesProvider();
+		dialectProvider.setDialectForUnitTest(new PostgreSQLDialect());
+		SearchQueryBuilder builder = new SearchQueryBuilder(myFhirContext, myStorageSettings, myPartitionSettings, myRequestPartitionId, "Patient", mySqlBuilderFactory, dialectProvider, false);
+		List<Long> pids = LongStream.range(0, 2000).boxed().toList();
+		builder.addResourceIdsPredicate(pids);
+
+		GeneratedSql generated = builder.generate(null, 10);
+		assertThat(generated.getSql()).startsWith("SELECT t0.RES_ID FROM HFJ_RESOURCE t0 WHERE (((t0.RES_TYPE = ?) AND (t0.RES_DELETED_AT IS NULL)) AND (t0.RES_ID IN (?,?,?,");
+		assertThat(generated.getSql()).doesNotContain("'");
+		assertThat(generated.getSql().chars().filter(c -> c == '?')).hasSize(2002);
+		assertEquals(2002, generated.getBindVariables().size());
+		assertEquals("Patient", generated.getBindVariables().get(0));
+		assertEquals(pids, generated.getBindVariables().subList(1, 2001));
+		assertEquals(10, generated.getBindVariables().get(2001));
+	}
+
 	@Test
 	public void testRangeSqlServer2005_NoSort() {
 
@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static ca.uhn.fhir.mdm.api.MdmConstants.ALL_RESOURCE_SEARCH_PARAM_TYPE;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /**
  * This class is responsible for performing matching between raw-typed values of a left record and a right record.
@@ -50,6 +51,7 @@ public class MdmResourceFieldMatcher {
 	private final MdmFieldMatchJson myMdmFieldMatchJson;
 	private final String myResourceType;
 	private final String myResourcePath;
+	private final FhirTerser.CompiledPath myCompiledResourcePath;
 	private final String myFhirPath;
 	private final MdmRulesJson myMdmRulesJson;
 	private final String myName;
@@ -72,6 +74,8 @@ public class MdmResourceFieldMatcher {
 		myName = theMdmFieldMatchJson.getName();
 		myMdmRulesJson = theMdmRulesJson;
 		myIsFhirPathExpression = myFhirPath != null;
+		myCompiledResourcePath =
+				isNotBlank(myResourcePath) ? theFhirContext.newTerser().compile(myResourcePath) : null;
 	}
 
 	/**
@@ -97,9 +101,8 @@ public class MdmResourceFieldMatcher {
 			leftValues = fhirPath.evaluate(theLeftResource, myFhirPath, IBase.class);
 			rightValues = fhirPath.evaluate(theRightResource, myFhirPath, IBase.class);
 		} else {
-			FhirTerser fhirTerser = myFhirContext.newTerser();
-			leftValues = fhirTerser.getValues(theLeftResource, myResourcePath, IBase.class);
-			rightValues = fhirTerser.getValues(theRightResource, myResourcePath, IBase.class);
+			leftValues = myCompiledResourcePath.getValues(theLeftResource, IBase.class);
+			rightValues = myCompiledResourcePath.getValues(theRightResource, IBase.class);
 		}
 		return match(leftValues, rightValues);
 	}
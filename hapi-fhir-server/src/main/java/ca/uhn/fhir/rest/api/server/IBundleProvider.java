@@ -107,6 +107,18 @@ public interface IBundleProvider {
 		return null;
 	}
 
+	/**
+	 * If the results in this bundle were produced using a keyset query (a query which seeks past
+	 * the last result of the previous page instead of using an offset), and there are more results,
+	 * this method returns an opaque position for the next page. The server
+	 * should then form a next link passing this position in the <code>_searchAfter</code> parameter.
+	 *
+	 * @since 7.8.0
+	 */
+	default String getNextPageSearchAfter() {
+		return null;
+	}
+
 	/**
 	 * Returns the instant as of which this result was created. The
 	 * result of this value is used to populate the <code>lastUpdated</code>
@@ -252,6 +252,34 @@ public class RestfulServerUtils {
 			Integer theOffset,
 			Integer theCount,
 			Map<String, String[]> theRequestParameters) {
+		Map<String, String[]> params = Maps.newLinkedHashMap(theRequestParameters);
+		params.put(Constants.PARAM_OFFSET, new String[] {String.valueOf(theOffset)});
+		params.put(Constants.PARAM_COUNT, new String[] {String.valueOf(theCount)});
+		return createLinkWithParameters(theBundleLinks, requestPath, tenantId, params);
+	}
+
+	/**
+	 * Creates a link to the next page of a keyset paged search, replacing any <code>_searchAfter</code>
+	 * and <code>_offset</code> in the request parameters with the given position
+	 *
+	 * @since 7.8.0
+	 */
+	public static String createSearchAfterPagingLink(
+			BundleLinks theBundleLinks,
+			String requestPath,
+			String tenantId,
+			String theSearchAfter,
+			Integer theCount,
+			Map<String, String[]> theRequestParameters) {
+		Map<String, String[]> params = Maps.newLinkedHashMap(theRequestParameters);
+		params.remove(Constants.PARAM_OFFSET);
+		params.put(Constants.PARAM_SEARCH_AFTER, new String[] {theSearchAfter});
+		params.put(Constants.PARAM_COUNT, new String[] {String.valueOf(theCount)});
+		return createLinkWithParameters(theBundleLinks, requestPath, tenantId, params);
+	}
+
+	private static String createLinkWithParameters(
+			BundleLinks theBundleLinks, String requestPath, String tenantId, Map<String, String[]> theParams) {
 		StringBuilder b = new StringBuilder();
 		b.append(theBundleLinks.serverBase);
 
@@ -264,13 +292,9 @@ public class RestfulServerUtils {
 			}
 		}
 
-		Map<String, String[]> params = Maps.newLinkedHashMap(theRequestParameters);
-		params.put(Constants.PARAM_OFFSET, new String[] {String.valueOf(theOffset)});
-		params.put(Constants.PARAM_COUNT, new String[] {String.valueOf(theCount)});
-
 		boolean first = true;
-		for (String nextParamName : new TreeSet<>(params.keySet())) {
-			for (String nextParamValue : params.get(nextParamName)) {
+		for (String nextParamName : new TreeSet<>(theParams.keySet())) {
+			for (String nextParamValue : theParams.get(nextParamName)) {
 				if (first) {
 					b.append('?');
 					first = false;
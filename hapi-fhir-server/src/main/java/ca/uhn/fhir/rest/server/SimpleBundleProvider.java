@@ -41,6 +41,7 @@ public class SimpleBundleProvider implements IBundleProvider {
 	private IPrimitiveType<Date> myPublished = InstantDt.withCurrentTime();
 	private Integer myCurrentPageOffset;
 	private Integer myCurrentPageSize;
+	private String myNextPageSearchAfter;
 	private ResponsePage.ResponsePageBuilder myPageBuilder;
 
 	/**
@@ -127,6 +128,21 @@ public class SimpleBundleProvider implements IBundleProvider {
 		myCurrentPageSize = theCurrentPageSize;
 	}
 
+	/**
+	 * @since 7.8.0
+	 */
+	@Override
+	public String getNextPageSearchAfter() {
+		return myNextPageSearchAfter;
+	}
+
+	/**
+	 * @since 7.8.0
+	 */
+	public void setNextPageSearchAfter(String theNextPageSearchAfter) {
+		myNextPageSearchAfter = theNextPageSearchAfter;
+	}
+
 	/**
 	 * Returns the results stored in this provider
 	 */
@@ -95,11 +95,13 @@ public class ResponseBundleBuilder {
 		int numToReturn;
 		String searchId = null;
 
-		if (requestedPage.offset != null || !server.canStoreSearchResults()) {
+		boolean searchAfterPaging = theResponseBundleRequest.isSearchAfterPaging();
+		if (requestedPage.offset != null || searchAfterPaging || !server.canStoreSearchResults()) {
 			pageSize = offsetCalculatePageSize(server, requestedPage, bundleProvider.size());
 			numToReturn = pageSize;
 
-			resourceList = offsetBuildResourceList(bundleProvider, requestedPage, numToReturn, responsePageBuilder);
+			resourceList = offsetBuildResourceList(
+					bundleProvider, requestedPage, searchAfterPaging, numToReturn, responsePageBuilder);
 			RestfulServerUtils.validateResourceListNotNull(resourceList);
 		} else {
 			pageSize = pagingCalculatePageSize(requestedPage, server.getPagingProvider());
@@ -181,13 +183,15 @@ public class ResponseBundleBuilder {
 	private List<IBaseResource> offsetBuildResourceList(
 			IBundleProvider theBundleProvider,
 			RequestedPage theRequestedPage,
+			boolean theSearchAfterPaging,
 			int theNumToReturn,
 			ResponsePage.ResponsePageBuilder theResponsePageBuilder) {
 		final List<IBaseResource> retval;
 		if ((theRequestedPage.offset != null && !myIsOffsetModeHistory)
+				|| theSearchAfterPaging
 				|| theBundleProvider.getCurrentPageOffset() != null) {
-			// When offset query is done theResult already contains correct amount (+ their includes etc.) so return
-			// everything
+			// When offset or keyset query is done theResult already contains correct amount (+ their includes etc.)
+			// so return everything
 			retval = theBundleProvider.getResources(0, Integer.MAX_VALUE, theResponsePageBuilder);
 		} else if (theNumToReturn > 0) {
 			retval = theBundleProvider.getResources(0, theNumToReturn, theResponsePageBuilder);
@@ -96,6 +96,16 @@ public class ResponseBundleRequest {
 		return requestDetails.getParameters();
 	}
 
+	/**
+	 * Returns <code>true</code> if the client requested keyset paging using the <code>_searchAfter</code>
+	 * parameter. An empty value requests the first page.
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isSearchAfterPaging() {
+		return requestDetails != null && requestDetails.getParameters().containsKey(Constants.PARAM_SEARCH_AFTER);
+	}
+
 	private RequestedPage getRequestedPage(Integer theLimit) {
 		// If the BundleProvider has an offset and page size, we use that
 		if (bundleProvider.getCurrentPageOffset() != null) {
@@ -161,7 +161,9 @@ public class ResponsePage {
 			return;
 		}
 
-		if (isBundleProviderOffsetPaging()) {
+		if (myResponseBundleRequest != null && myResponseBundleRequest.isSearchAfterPaging()) {
+			myPagingStyle = PagingStyle.BUNDLE_PROVIDER_SEARCH_AFTER;
+		} else if (isBundleProviderOffsetPaging()) {
 			myPagingStyle = PagingStyle.BUNDLE_PROVIDER_OFFSETS;
 		} else if (myIsUsingOffsetPages) {
 			myPagingStyle = PagingStyle.NONCACHED_OFFSET;
@@ -200,6 +202,8 @@ public class ResponsePage {
 			case BUNDLE_PROVIDER_OFFSETS:
 			case BUNDLE_PROVIDER_PAGE_IDS:
 				return StringUtils.isNotBlank(myBundleProvider.getNextPageId());
+			case BUNDLE_PROVIDER_SEARCH_AFTER:
+				return StringUtils.isNotBlank(myBundleProvider.getNextPageSearchAfter());
 			case NONCACHED_OFFSET:
 				if (myNumTotalResults == null) {
 					if (hasNextPageWithoutKnowingTotal()) {
@@ -293,6 +297,15 @@ public class ResponsePage {
 							myNumToReturn,
 							myResponseBundleRequest.getRequestParameters());
 					break;
+				case BUNDLE_PROVIDER_SEARCH_AFTER:
+					next = RestfulServerUtils.createSearchAfterPagingLink(
+							theLinks,
+							myResponseBundleRequest.requestDetails.getRequestPath(),
+							myResponseBundleRequest.requestDetails.getTenantId(),
+							myBundleProvider.getNextPageSearchAfter(),
+							ObjectUtils.defaultIfNull(myBundleProvider.preferredPageSize(), myPageSize),
+							myResponseBundleRequest.getRequestParameters());
+					break;
 				case BUNDLE_PROVIDER_PAGE_IDS:
 					next = RestfulServerUtils.createPagingLink(
 							theLinks,
@@ -490,6 +503,8 @@ public class ResponsePage {
 
 	/**
 	 * First we determine what kind of paging we use:
+	 * * Bundle Provider Search After - the client requested keyset paging using _searchAfter,
+	 * 							and the bundle provider provides the position of the next page
 	 * * Bundle Provider Offsets - the bundle provider has offset counts that it uses
 	 * 							to determine the page. For legacy reasons, it's not enough
 	 * 							that the bundle provider has a currentOffsetPage. Sometimes
@@ -514,6 +529,12 @@ public class ResponsePage {
 		 * the bundle provider provides the offsets
 		 */
 		BUNDLE_PROVIDER_OFFSETS,
+		/**
+		 * Paging is done by keyset positions (_searchAfter);
+		 * the bundle provider provides the position of the next page.
+		 * Keyset pages can only be followed forward, so there is no previous link.
+		 */
+		BUNDLE_PROVIDER_SEARCH_AFTER,
 		/**
 		 * Paging is done by page ids,
 		 * but bundle provider provides the page ids
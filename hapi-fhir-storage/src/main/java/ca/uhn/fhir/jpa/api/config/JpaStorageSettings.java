@@ -379,6 +379,31 @@ public class JpaStorageSettings extends StorageSettings {
 	@Beta
 	private boolean myIncludeHashIdentityForTokenSearches = false;
 
+	/**
+	 * @since 7.8.0
+	 */
+	private boolean mySearchFirstPageEarlySyncEnabled = false;
+
+	/**
+	 * @since 7.8.0
+	 */
+	private boolean myParsedResourceCacheEnabled = false;
+
+	/**
+	 * @since 7.8.0
+	 */
+	private Integer myIndexWriteJdbcBatchSize;
+
+	/**
+	 * @since 7.8.0
+	 */
+	private boolean mySearchIndexDigestsEnabled = false;
+
+	/**
+	 * @since 7.8.0
+	 */
+	private boolean mySearchResultMemoryCacheEnabled = false;
+
 	/**
 	 * Constructor
 	 */
@@ -1717,6 +1742,158 @@ public class JpaStorageSettings extends StorageSettings {
 		mySearchPreFetchThresholds = thePreFetchThresholds;
 	}
 
+	/**
+	 * If enabled (default is <code>false</code>), an asynchronous search stores its results and
+	 * releases the waiting client as soon as enough results have been found to fill the first page
+	 * (the <code>_count</code> parameter or the default page size), instead of waiting for the first
+	 * full batch of results. The first page of resources is then loaded by the client thread while
+	 * the search thread keeps fetching further results.
+	 * <p>
+	 * This setting has no effect if {@link #setCountSearchResultsUpTo(Integer)} is set.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isSearchFirstPageEarlySyncEnabled() {
+		return mySearchFirstPageEarlySyncEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), an asynchronous search stores its results and
+	 * releases the waiting client as soon as enough results have been found to fill the first page
+	 * (the <code>_count</code> parameter or the default page size), instead of waiting for the first
+	 * full batch of results. The first page of resources is then loaded by the client thread while
+	 * the search thread keeps fetching further results.
+	 * <p>
+	 * This setting has no effect if {@link #setCountSearchResultsUpTo(Integer)} is set.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public void setSearchFirstPageEarlySyncEnabled(boolean theSearchFirstPageEarlySyncEnabled) {
+		mySearchFirstPageEarlySyncEnabled = theSearchFirstPageEarlySyncEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), resources which are loaded from the database are
+	 * kept in a short-lived in-memory cache after being parsed, keyed by resource PID, version and
+	 * the version's last updated timestamp. Subsequent loads of the same resource version (e.g. a
+	 * Practitioner or Organization returned by many searches using <code>_include</code>) skip
+	 * decompressing and parsing the stored resource body and use a copy of the cached one instead.
+	 * <p>
+	 * Because a cached entry is tied to one specific version of a resource, entries never need to be
+	 * invalidated when resources are updated or deleted, including by other servers in a cluster.
+	 * Resource metadata such as tags is always populated from the database.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isParsedResourceCacheEnabled() {
+		return myParsedResourceCacheEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), resources which are loaded from the database are
+	 * kept in a short-lived in-memory cache after being parsed, keyed by resource PID, version and
+	 * the version's last updated timestamp. Subsequent loads of the same resource version (e.g. a
+	 * Practitioner or Organization returned by many searches using <code>_include</code>) skip
+	 * decompressing and parsing the stored resource body and use a copy of the cached one instead.
+	 * <p>
+	 * Because a cached entry is tied to one specific version of a resource, entries never need to be
+	 * invalidated when resources are updated or deleted, including by other servers in a cluster.
+	 * Resource metadata such as tags is always populated from the database.
+	 * </p>
+	 *
+	 * @since 7.8.0
+	 */
+	public void setParsedResourceCacheEnabled(boolean theParsedResourceCacheEnabled) {
+		myParsedResourceCacheEnabled = theParsedResourceCacheEnabled;
+	}
+
+	/**
+	 * If set (default is <code>null</code>), this JDBC batch size is used for the remainder of any
+	 * database session which writes search index rows, instead of the batch size configured for
+	 * Hibernate (<code>hibernate.jdbc.batch_size</code>, which defaults to 30 on HAPI FHIR servers).
+	 * Hibernate orders inserts by table when the session is flushed, so a large value lets a big
+	 * transaction Bundle write the tens of thousands of index rows it creates in a few JDBC
+	 * batches per index table. On Postgres, also consider enabling the
+	 * <code>reWriteBatchedInserts</code> JDBC driver property so that each batch is sent as a
+	 * single multi-row insert.
+	 *
+	 * @since 7.8.0
+	 */
+	public Integer getIndexWriteJdbcBatchSize() {
+		return myIndexWriteJdbcBatchSize;
+	}
+
+	/**
+	 * If set (default is <code>null</code>), this JDBC batch size is used for the remainder of any
+	 * database session which writes search index rows, instead of the batch size configured for
+	 * Hibernate (<code>hibernate.jdbc.batch_size</code>, which defaults to 30 on HAPI FHIR servers).
+	 * Hibernate orders inserts by table when the session is flushed, so a large value lets a big
+	 * transaction Bundle write the tens of thousands of index rows it creates in a few JDBC
+	 * batches per index table. On Postgres, also consider enabling the
+	 * <code>reWriteBatchedInserts</code> JDBC driver property so that each batch is sent as a
+	 * single multi-row insert.
+	 *
+	 * @since 7.8.0
+	 */
+	public void setIndexWriteJdbcBatchSize(Integer theIndexWriteJdbcBatchSize) {
+		myIndexWriteJdbcBatchSize = theIndexWriteJdbcBatchSize;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), a digest of the search index rows written for each
+	 * index table (string, token, date, etc.) is stored with the resource. When the resource is
+	 * updated, any index table whose digest has not changed is skipped entirely, so its existing rows
+	 * are neither loaded nor compared. This makes updates which only change a few indexed values
+	 * (e.g. a status) on large resources much cheaper. Reference and unique combo indexes are always
+	 * compared, and reindexing a resource always compares all index tables.
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isSearchIndexDigestsEnabled() {
+		return mySearchIndexDigestsEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), a digest of the search index rows written for each
+	 * index table (string, token, date, etc.) is stored with the resource. When the resource is
+	 * updated, any index table whose digest has not changed is skipped entirely, so its existing rows
+	 * are neither loaded nor compared. This makes updates which only change a few indexed values
+	 * (e.g. a status) on large resources much cheaper. Reference and unique combo indexes are always
+	 * compared, and reindexing a resource always compares all index tables.
+	 *
+	 * @since 7.8.0
+	 */
+	public void setSearchIndexDigestsEnabled(boolean theSearchIndexDigestsEnabled) {
+		mySearchIndexDigestsEnabled = theSearchIndexDigestsEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), the result PIDs of recent searches are also kept in
+	 * memory, in front of the <code>HFJ_SEARCH_RESULT</code> table, so that pages of a search which are
+	 * already held in memory are served without a database query. Results are still written to the
+	 * database. This setting is read when the application context starts, so it must be set before then.
+	 *
+	 * @since 7.8.0
+	 */
+	public boolean isSearchResultMemoryCacheEnabled() {
+		return mySearchResultMemoryCacheEnabled;
+	}
+
+	/**
+	 * If enabled (default is <code>false</code>), the result PIDs of recent searches are also kept in
+	 * memory, in front of the <code>HFJ_SEARCH_RESULT</code> table, so that pages of a search which are
+	 * already held in memory are served without a database query. Results are still written to the
+	 * database. This setting is read when the application context starts, so it must be set before then.
+	 *
+	 * @since 7.8.0
+	 */
+	public void setSearchResultMemoryCacheEnabled(boolean theSearchResultMemoryCacheEnabled) {
+		mySearchResultMemoryCacheEnabled = theSearchResultMemoryCacheEnabled;
+	}
+
 	/**
 	 * If set to <code>true</code> the _filter search parameter will be enabled on this server. Note that _filter
 	 * is very powerful, but also potentially dangerous as it can allow a user to create a query for which there
@@ -121,6 +121,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -394,8 +395,8 @@ public abstract class BaseTransactionProcessor {
 		List<IBase> requestEntries = myVersionAdapter.getEntries(theRequest);
 		int requestEntriesSize = requestEntries.size();
 
-		// Now, run all non-gets sequentially, and all gets are submitted to the executor to run (potentially) in
-		// parallel
+		// Now, run all non-gets sequentially (or grouped by target resource if parallel writes are enabled), and
+		// all gets are submitted to the executor to run (potentially) in parallel
 		// The result is kept in the map to save the original position
 		List<RetriableBundleTask> getCalls = new ArrayList<>();
 		List<RetriableBundleTask> nonGetCalls = new ArrayList<>();
@@ -413,17 +414,47 @@ public abstract class BaseTransactionProcessor {
 				nonGetCalls.add(retriableBundleTask);
 			}
 		}
-		// Execute all non-gets on calling thread.
-		nonGetCalls.forEach(RetriableBundleTask::run);
-		// Execute all gets (potentially in a pool)
-		if (myStorageSettings.getBundleBatchPoolSize() == 1) {
-			getCalls.forEach(RetriableBundleTask::run);
+		// Execute all non-gets on calling thread, or in parallel with entries which can't conflict. Either way,
+		// all non-gets are finished before any gets are started.
+		boolean writesCompleted = true;
+		if (myStorageSettings.isBundleBatchParallelWritesEnabled() && myStorageSettings.getBundleBatchPoolSize() > 1) {
+			Collection<List<RetriableBundleTask>> groups = groupBatchWritesByTarget(nonGetCalls);
+			CountDownLatch writesLatch = new CountDownLatch(groups.size());
+			for (List<RetriableBundleTask> nextGroup : groups) {
+				getTaskExecutor().execute(() -> {
+					try {
+						nextGroup.forEach(RetriableBundleTask::run);
+					} finally {
+						writesLatch.countDown();
+					}
+				});
+			}
+			writesCompleted = AsyncUtil.awaitLatchAndIgnoreInterrupt(writesLatch, 300L, TimeUnit.SECONDS);
 		} else {
-			getCalls.forEach(getCall -> getTaskExecutor().execute(getCall));
+			nonGetCalls.forEach(RetriableBundleTask::run);
 		}
 
-		// waiting for all async tasks to be completed
-		AsyncUtil.awaitLatchAndIgnoreInterrupt(completionLatch, 300L, TimeUnit.SECONDS);
+		if (writesCompleted) {
+			// Execute all gets (potentially in a pool)
+			if (myStorageSettings.getBundleBatchPoolSize() == 1) {
+				getCalls.forEach(RetriableBundleTask::run);
+			} else {
+				getCalls.forEach(getCall -> getTaskExecutor().execute(getCall));
+			}
+
+			// waiting for all async tasks to be completed
+			AsyncUtil.awaitLatchAndIgnoreInterrupt(completionLatch, 300L, TimeUnit.SECONDS);
+		} else {
+			// The gets could see partially applied writes, so they aren't started. Every entry
+			// which hasn't finished yet (including all of the gets) is reported as failed.
+			ourLog.warn("Timed out waiting for batch writes to complete, failing all unfinished entries");
+			for (int i = 0; i < requestEntriesSize; i++) {
+				ServerResponseExceptionHolder timedOut = new ServerResponseExceptionHolder();
+				timedOut.setException(new InternalErrorException(
+						Msg.code(2803) + "Batch entry did not complete before the batch timed out"));
+				responseMap.putIfAbsent(i, timedOut);
+			}
+		}
 
 		// Now, create the bundle response in original order
 		Object nextResponseEntry;
@@ -449,6 +480,92 @@ public abstract class BaseTransactionProcessor {
 		return response;
 	}
 
+	/**
+	 * Groups the write entries of a batch so that entries which could affect the same resource are
+	 * processed one after the other (in their original order), while separate groups can be processed
+	 * in parallel. Entries targeting a specific resource ID are grouped by that ID, and all conditional
+	 * writes (conditional create, update, patch and delete) of a given resource type are grouped
+	 * together with all other writes of that type, including plain creates, since a conditional URL
+	 * could match any of them. Plain creates of other types can't conflict with anything and are each
+	 * processed on their own.
+	 */
+	private Collection<List<RetriableBundleTask>> groupBatchWritesByTarget(List<RetriableBundleTask> theTasks) {
+		List<UrlUtil.UrlParts> targets = new ArrayList<>(theTasks.size());
+		List<Boolean> plainCreates = new ArrayList<>(theTasks.size());
+		Set<String> typesWithConditionalWrites = new HashSet<>();
+		for (RetriableBundleTask next : theTasks) {
+			UrlUtil.UrlParts target = determineBatchWriteTarget(next.myNextReqEntry);
+			boolean plainCreate = target != null && isPlainCreate(next.myNextReqEntry, target);
+			targets.add(target);
+			plainCreates.add(plainCreate);
+			if (target != null && !plainCreate && (target.getParams() != null || target.getResourceId() == null)) {
+				typesWithConditionalWrites.add(target.getResourceType());
+			}
+		}
+
+		Map<String, List<RetriableBundleTask>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < theTasks.size(); i++) {
+			UrlUtil.UrlParts target = targets.get(i);
+			String key;
+			if (target == null) {
+				// Couldn't determine the target, so process with all others we couldn't determine
+				key = "";
+			} else if (typesWithConditionalWrites.contains(target.getResourceType())) {
+				key = target.getResourceType();
+			} else if (plainCreates.get(i)) {
+				// A plain create, which can't conflict with any other entry
+				key = "#" + i;
+			} else {
+				key = target.getResourceType() + "/" + target.getResourceId();
+			}
+			groups.computeIfAbsent(key, k -> new ArrayList<>()).add(theTasks.get(i));
+		}
+		return groups.values();
+	}
+
+	private boolean isPlainCreate(IBase theEntry, UrlUtil.UrlParts theTarget) {
+		return "POST".equalsIgnoreCase(myVersionAdapter.getEntryRequestVerb(myContext, theEntry))
+				&& theTarget.getParams() == null;
+	}
+
+	/**
+	 * Returns the resource type, ID and conditional URL parameters targeted by a batch write entry
+	 * (creates have no ID, and only have parameters if they are conditional), or <code>null</code> if
+	 * the target can't be determined (in which case processing the entry will fail anyhow)
+	 */
+	@Nullable
+	private UrlUtil.UrlParts determineBatchWriteTarget(IBase theEntry) {
+		String verb = myVersionAdapter.getEntryRequestVerb(myContext, theEntry);
+		try {
+			if ("POST".equalsIgnoreCase(verb)) {
+				IBaseResource resource = myVersionAdapter.getResource(theEntry);
+				if (resource == null) {
+					return null;
+				}
+				UrlUtil.UrlParts retVal = new UrlUtil.UrlParts();
+				retVal.setResourceType(myContext.getResourceType(resource));
+				String ifNoneExist = myVersionAdapter.getEntryRequestIfNoneExist(theEntry);
+				if (isNotBlank(ifNoneExist)) {
+					retVal.setParams(ifNoneExist);
+				}
+				return retVal;
+			}
+
+			String url = myVersionAdapter.getEntryRequestUrl(theEntry);
+			if (isBlank(url)) {
+				return null;
+			}
+			UrlUtil.UrlParts retVal = UrlUtil.parseUrl(url);
+			if (retVal.getResourceType() == null) {
+				return null;
+			}
+			return retVal;
+		} catch (Exception e) {
+			ourLog.debug("Unable to determine target of batch entry: {}", e.toString());
+			return null;
+		}
+	}
+
 	@VisibleForTesting
 	public void setHapiTransactionService(HapiTransactionService theHapiTransactionService) {
 		myHapiTransactionService = theHapiTransactionService;
@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * HAPI FHIR Storage api
+ * %%
+ * Copyright (C) 2014 - 2024 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package ca.uhn.fhir.jpa.dao;
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.IJsonLikeParser;
+import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Converts between the JSON encoding of a resource and the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> encoding
+ * used by {@link ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum#SMILE}.
+ * <p>
+ * Smile is a binary equivalent of JSON, so the content is exactly the FHIR JSON
+ * representation of the resource. Decimal values are stored as scaled decimals so
+ * that their precision (e.g. <code>1.50</code>) is preserved.
+ * </p>
+ */
+public class SmileUtil {
+
+	private static final StreamReadConstraints ourStreamReadConstraints =
+			StreamReadConstraints.builder().maxStringLength(Integer.MAX_VALUE).build();
+	private static final JsonFactory ourJsonFactory =
+			JsonFactory.builder().streamReadConstraints(ourStreamReadConstraints).build();
+	private static final ObjectMapper ourSmileMapper = createSmileMapper();
+
+	/**
+	 * Converts JSON text into Smile
+	 */
+	public static byte[] fromJson(String theJson) {
+		try (JsonParser parser = ourJsonFactory.createParser(theJson)) {
+			ByteArrayOutputStream os = new ByteArrayOutputStream(theJson.length());
+			try (JsonGenerator generator = ourSmileMapper.getFactory().createGenerator(os)) {
+				copy(parser, generator);
+			}
+			return os.toByteArray();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2792) + "Failed to convert contents to Smile", e);
+		}
+	}
+
+	/**
+	 * Converts Smile into JSON text
+	 */
+	public static String toJson(byte[] theSmile) {
+		try (JsonParser parser = ourSmileMapper.getFactory().createParser(theSmile)) {
+			StringWriter writer = new StringWriter(theSmile.length * 2);
+			try (JsonGenerator generator = ourJsonFactory.createGenerator(writer)) {
+				copy(parser, generator);
+			}
+			return writer.toString();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2793) + "Failed to convert Smile contents to JSON", e);
+		}
+	}
+
+	/**
+	 * Parses a resource directly from Smile, without producing an intermediate JSON string
+	 */
+	public static <T extends IBaseResource> T parseResource(
+			IJsonLikeParser theParser, Class<T> theResourceType, byte[] theSmile) {
+		JsonNode tree;
+		try {
+			tree = ourSmileMapper.readTree(theSmile);
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2794) + "Failed to parse Smile contents", e);
+		}
+		if (!(tree instanceof ObjectNode)) {
+			throw new DataFormatException(Msg.code(2795) + "Smile contents do not contain a JSON object");
+		}
+		JacksonStructure structure = new JacksonStructure();
+		structure.setNativeObject((ObjectNode) tree);
+		return theParser.parseResource(theResourceType, structure);
+	}
+
+	/**
+	 * Copies every token from the parser to the generator. Floating point numbers are copied
+	 * as {@link java.math.BigDecimal} so that their scale is retained.
+	 */
+	private static void copy(JsonParser theParser, JsonGenerator theGenerator) throws IOException {
+		for (JsonToken token = theParser.nextToken(); token != null; token = theParser.nextToken()) {
+			if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+				theGenerator.writeNumber(theParser.getDecimalValue());
+			} else {
+				theGenerator.copyCurrentEvent(theParser);
+			}
+		}
+	}
+
+	private static ObjectMapper createSmileMapper() {
+		SmileFactory factory = SmileFactory.builder()
+				.streamReadConstraints(ourStreamReadConstraints)
+				.build();
+		ObjectMapper retVal = SmileMapper.builder(factory)
+				.nodeFactory(new JsonNodeFactory(true))
+				.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+				.build();
+		return retVal;
+	}
+}
@@ -36,6 +36,7 @@ public class SearchRuntimeDetails {
 	private String myQueryString;
 	private SearchStatusEnum mySearchStatus;
 	private int myFoundIndexMatchesCount;
+	private long myResultStorageMillis;
 
 	public SearchRuntimeDetails(RequestDetails theRequestDetails, String theSearchUuid) {
 		myRequestDetails = theRequestDetails;
@@ -91,6 +92,23 @@ public class SearchRuntimeDetails {
 		myQueryString = theQueryString;
 	}
 
+	/**
+	 * Returns the cumulative time spent storing batches of search results, as opposed to
+	 * time spent fetching them from the database.
+	 *
+	 * @since 7.8.0
+	 */
+	public long getResultStorageMillis() {
+		return myResultStorageMillis;
+	}
+
+	/**
+	 * @since 7.8.0
+	 */
+	public void addResultStorageMillis(long theResultStorageMillis) {
+		myResultStorageMillis += theResultStorageMillis;
+	}
+
 	public SearchStatusEnum getSearchStatus() {
 		return mySearchStatus;
 	}
@@ -75,6 +75,8 @@ public class MemoryCacheService {
 				case MATCH_URL:
 				case RESOURCE_LOOKUP:
 				case HISTORY_COUNT:
+				case SEARCH_COUNT:
+				case PARSED_RESOURCE:
 				case TAG_DEFINITION:
 				case RESOURCE_CONDITIONAL_CREATE_VERSION:
 				case FHIRPATH_EXPRESSION:
@@ -211,6 +213,20 @@ public class MemoryCacheService {
 		CONCEPT_TRANSLATION_REVERSE(TranslationQuery.class),
 		RESOURCE_CONDITIONAL_CREATE_VERSION(Long.class),
 		HISTORY_COUNT(HistoryCountKey.class),
+		/**
+		 * Key type: {@literal String} (resource type, partition and normalized query)
+		 * Value type: {@literal Long}
+		 * <p>
+		 * Search counts, used to answer <code>_total=estimated</code> without a new count query
+		 */
+		SEARCH_COUNT(String.class),
+		/**
+		 * Key type: {@literal String} (resource type, PID, version and version timestamp)
+		 * Value type: {@literal IBaseResource}
+		 * <p>
+		 * Parsed resource bodies, only used if {@link JpaStorageSettings#isParsedResourceCacheEnabled()} is set
+		 */
+		PARSED_RESOURCE(String.class),
 		NAME_TO_PARTITION(String.class),
 		ID_TO_PARTITION(Integer.class);
 
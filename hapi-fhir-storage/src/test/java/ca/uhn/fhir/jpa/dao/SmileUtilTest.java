@@ -0,0 +1,54 @@
+package ca.uhn.fhir.jpa.dao;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.IJsonLikeParser;
+import org.hl7.fhir.r4.model.DecimalType;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SmileUtilTest {
+
+	private static final FhirContext ourCtx = FhirContext.forR4Cached();
+
+	@Test
+	public void testRoundTrip() {
+		Observation input = new Observation();
+		input.setId("Observation/123");
+		input.setStatus(Observation.ObservationStatus.FINAL);
+		input.getValueQuantity().setValueElement(new DecimalType("1.50")).setUnit("mg");
+		input.getCode().addCoding().setSystem("http://loinc.org").setCode("1234-5").setDisplay("Ünïcödé");
+		input.addComponent().setValue(new IntegerType(7));
+		String json = ourCtx.newJsonParser().encodeResourceToString(input);
+
+		byte[] smile = SmileUtil.fromJson(json);
+		assertThat(smile.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length);
+		assertEquals(json, SmileUtil.toJson(smile));
+
+		Observation output = SmileUtil.parseResource((IJsonLikeParser) ourCtx.newJsonParser(), Observation.class, smile);
+		assertEquals(new BigDecimal("1.50"), output.getValueQuantity().getValue());
+		assertEquals("1.50", output.getValueQuantity().getValueElement().getValueAsString());
+		assertEquals(json, ourCtx.newJsonParser().encodeResourceToString(output));
+	}
+
+	@Test
+	public void testParseInvalidContent() {
+		byte[] notAnObject = SmileUtil.fromJson("[ ]");
+		IJsonLikeParser parser = (IJsonLikeParser) ourCtx.newJsonParser();
+		assertThatThrownBy(() -> SmileUtil.parseResource(parser, Patient.class, notAnObject))
+			.isInstanceOf(DataFormatException.class)
+			.hasMessageContaining("Smile contents do not contain a JSON object");
+
+		assertThatThrownBy(() -> SmileUtil.parseResource(parser, Patient.class, new byte[]{1, 2, 3}))
+			.isInstanceOf(DataFormatException.class);
+	}
+}
@@ -0,0 +1,49 @@
+package ca.uhn.fhir.context;
+
+import org.hl7.fhir.r4.model.Enumeration;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.StringType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class BaseRuntimeChildDefinitionTest {
+
+	private static final FhirContext ourFhirContext = FhirContext.forR4Cached();
+
+	@Test
+	public void testGetChildNameAndDefByDatatype_ChoiceType() {
+		BaseRuntimeChildDefinition child = ourFhirContext.getResourceDefinition(Observation.class).getChildByName("value[x]");
+
+		BaseRuntimeChildDefinition.ChildNameAndDef quantity = child.getChildNameAndDefByDatatype(ourFhirContext, Quantity.class);
+		assertEquals("valueQuantity", quantity.getChildName());
+		assertEquals("Quantity", quantity.getChildDef().getName());
+
+		BaseRuntimeChildDefinition.ChildNameAndDef string = child.getChildNameAndDefByDatatype(ourFhirContext, StringType.class);
+		assertEquals("valueString", string.getChildName());
+
+		// Resolved values are cached
+		assertSame(quantity, child.getChildNameAndDefByDatatype(ourFhirContext, Quantity.class));
+	}
+
+	@Test
+	public void testGetChildNameAndDefByDatatype_Enumeration() {
+		BaseRuntimeChildDefinition child = ourFhirContext.getResourceDefinition(Patient.class).getChildByName("gender");
+
+		BaseRuntimeChildDefinition.ChildNameAndDef gender = child.getChildNameAndDefByDatatype(ourFhirContext, Enumeration.class);
+		assertEquals("gender", gender.getChildName());
+		assertEquals("code", gender.getChildDef().getName());
+		assertSame(gender, child.getChildNameAndDefByDatatype(ourFhirContext, Enumeration.class));
+	}
+
+	@Test
+	public void testGetChildNameAndDefByDatatype_InvalidType() {
+		BaseRuntimeChildDefinition child = ourFhirContext.getResourceDefinition(Patient.class).getChildByName("active");
+
+		assertNull(child.getChildNameAndDefByDatatype(ourFhirContext, Quantity.class));
+	}
+}
@@ -1,5 +1,8 @@
 package ca.uhn.fhir.context;
 
+import ca.uhn.fhir.parser.view.ExtPatient;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
 import org.junit.jupiter.api.Test;
 
 import java.util.Set;
@@ -45,4 +48,37 @@ public class FhirContextR4Test {
 
 		assertThatExceptionOfType(ConfigurationException.class).isThrownBy(() -> fhirContext.getAllResourceDefinitions());
 	}
+
+	@Test
+	void parallelModelScanning() {
+		final FhirContext fhirContext = FhirContext.forR4();
+		fhirContext.setPerformanceOptions(PerformanceOptionsEnum.PARALLEL_MODEL_SCANNING);
+
+		// All standard resource types are scanned when the context is initialized
+		fhirContext.getElementDefinition("string");
+		assertThat(fhirContext.getAllResourceDefinitions())
+			.extracting(BaseRuntimeElementDefinition::getName)
+			.contains("Patient", "Observation", "Bundle");
+
+		final RuntimeResourceDefinition patientDef = fhirContext.getResourceDefinition(Patient.class);
+		final RuntimeResourceDefinition referenceDef = FhirContext.forR4Cached().getResourceDefinition(Patient.class);
+		assertThat(patientDef.getChildren())
+			.extracting(BaseRuntimeChildDefinition::getElementName)
+			.containsExactlyElementsOf(referenceDef.getChildren().stream()
+				.map(BaseRuntimeChildDefinition::getElementName)
+				.toList());
+		assertThat(patientDef.getSearchParams()).hasSameSizeAs(referenceDef.getSearchParams());
+
+		final String json = "{\"resourceType\":\"Observation\",\"status\":\"final\"}";
+		final Observation observation = fhirContext.newJsonParser().parseResource(Observation.class, json);
+		assertThat(observation.getStatus()).isEqualTo(Observation.ObservationStatus.FINAL);
+
+		// Custom types are scanned incrementally, on top of the definitions from the initial scan
+		final int definitionCount = fhirContext.getAllResourceDefinitions().size();
+		final RuntimeResourceDefinition extPatientDef = fhirContext.getResourceDefinition(ExtPatient.class);
+		assertThat(extPatientDef.getChildByName("extension")).isNotNull();
+		assertThat(fhirContext.getResourceDefinition(Observation.class).getImplementingClass())
+			.isEqualTo(Observation.class);
+		assertThat(fhirContext.getAllResourceDefinitions()).hasSizeGreaterThanOrEqualTo(definitionCount);
+	}
 }
@@ -0,0 +1,146 @@
+package ca.uhn.fhir.parser;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.test.BaseTest;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Device;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class JsonParserStreamingR4Test extends BaseTest {
+	private static final FhirContext ourCtx = FhirContext.forR4();
+
+	@AfterEach
+	public void after() {
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(false);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"/bundle-with-two-patient-resources.json",
+		"/multi-thread-parsing-issue-bundle.json",
+		"/entities-from-cerner.json",
+		"/observation-decimal-element-with-leading-plus.json"
+	})
+	public void testParseMatchesTreeParse(String theFile) throws Exception {
+		String input = loadResource(theFile);
+		assertParsesIdentically(input);
+	}
+
+	@Test
+	public void testParsePrimitiveAlternates() {
+		String input = """
+			{
+			  "resourceType": "Patient",
+			  "_birthDate": { "extension": [ { "url": "http://foo", "valueString": "bar" } ] },
+			  "name": [ {
+			    "given": [ "A", null, "C" ],
+			    "_given": [ null, { "id": "b", "extension": [ { "url": "http://given", "valueCode": "x" } ] }, { "id": "c" } ],
+			    "family": "Simpson"
+			  } ],
+			  "birthDate": "2020-01-01",
+			  "_gender": { "extension": [ { "url": "http://gender", "valueBoolean": true } ] }
+			}
+			""";
+		Patient patient = assertParsesIdentically(input);
+
+		assertEquals("2020-01-01", patient.getBirthDateElement().getValueAsString());
+		assertEquals("bar", patient.getBirthDateElement().getExtensionString("http://foo"));
+		assertEquals(3, patient.getNameFirstRep().getGiven().size());
+		assertEquals("b", patient.getNameFirstRep().getGiven().get(1).getId());
+		assertEquals("c", patient.getNameFirstRep().getGiven().get(2).getId());
+		assertTrue(patient.getGenderElement().hasExtension("http://gender"));
+	}
+
+	@Test
+	public void testParseResourceTypeNotFirst() {
+		String input = """
+			{
+			  "type": "collection",
+			  "entry": [ {
+			    "fullUrl": "http://example.com/Patient/123",
+			    "resource": {
+			      "active": true,
+			      "contained": [ { "id": "org", "name": "Org", "resourceType": "Organization" } ],
+			      "managingOrganization": { "reference": "#org" },
+			      "resourceType": "Patient"
+			    }
+			  } ],
+			  "resourceType": "Bundle"
+			}
+			""";
+		Bundle bundle = assertParsesIdentically(input);
+
+		Patient patient = (Patient) bundle.getEntryFirstRep().getResource();
+		assertEquals("http://example.com/Patient/123", patient.getId());
+		assertEquals(1, patient.getContained().size());
+		assertEquals("Org", ((org.hl7.fhir.r4.model.Organization) patient.getManagingOrganization().getResource()).getName());
+	}
+
+	@Test
+	public void testParseMissingResourceType() {
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(true);
+		try {
+			ourCtx.newJsonParser().parseResource("{\"active\": true}");
+			fail();
+		} catch (DataFormatException e) {
+			assertEquals(Msg.code(2779) + "Invalid JSON content detected, missing required element: 'resourceType'", e.getMessage());
+		}
+
+		try {
+			ourCtx.newJsonParser().parseResource("{\"resourceType\": \"Bundle\", \"entry\": [ { \"resource\": { \"active\": true } } ] }");
+			fail();
+		} catch (DataFormatException e) {
+			assertEquals(Msg.code(2780) + "Missing required element 'resourceType' from JSON resource object, unable to parse", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testParseInvalidContent() {
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(true);
+		try {
+			ourCtx.newJsonParser().parseResource("[ ]");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage()).startsWith(Msg.code(2777));
+		}
+
+		try {
+			ourCtx.newJsonParser().parseResource("{\"resourceType\": \"Patient\", \"active\": true } {");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage()).startsWith(Msg.code(2778));
+		}
+
+		try {
+			ourCtx.newJsonParser().parseResource(Device.class, "{\"resourceType\": \"Device\", \"status\": ");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage()).startsWith(Msg.code(1861) + "Failed to parse JSON encoded FHIR content");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends IBaseResource> T assertParsesIdentically(String theInput) {
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(false);
+		IBaseResource treeParsed = ourCtx.newJsonParser().parseResource(theInput);
+		String expected = ourCtx.newJsonParser().encodeResourceToString(treeParsed);
+
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(true);
+		IBaseResource streamParsed = ourCtx.newJsonParser().parseResource(theInput);
+		String actual = ourCtx.newJsonParser().encodeResourceToString(streamParsed);
+
+		assertEquals(expected, actual);
+		return (T) streamParsed;
+	}
+}
@@ -4,11 +4,18 @@ import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.util.BundleBuilder;
 import ca.uhn.fhir.util.TestUtil;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class NDJsonParserTest {
@@ -118,6 +125,126 @@ public class NDJsonParserTest {
 		});
 	}
 	
+	@Test
+	public void testParallelEncodeDecodePreservesOrder() {
+		BundleBuilder myBuilder = new BundleBuilder(ourCtx);
+		for (int i = 0; i < 1000; i++) {
+			Patient p = new Patient();
+			p.setId("Patient/P" + i);
+			p.addName().setFamily("Family " + i);
+			myBuilder.addCollectionEntry(p);
+		}
+		IBaseResource myBundle = myBuilder.getBundle();
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			NDJsonParser parallelParser = (NDJsonParser) ourCtx.newNDJsonParser();
+			parallelParser.setForkJoinPool(pool).setParallelBatchSize(7);
+			String ndjson = parallelParser.encodeResourceToString(myBundle);
+			assertEquals(toNDJson(myBundle), ndjson);
+
+			IBaseResource responseBundle = parallelParser.parseResource(ndjson);
+			assertTrue(fhirResourcesEqual(myBundle, responseBundle));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelDecodeUnordered() {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			if (i > 0) {
+				ndjson.append("\n");
+			}
+			ndjson.append("{\"resourceType\":\"Patient\",\"id\":\"P").append(i).append("\"}");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			NDJsonParser parallelParser = (NDJsonParser) ourCtx.newNDJsonParser();
+			parallelParser.setForkJoinPool(pool).setPreserveOrder(false).setParallelBatchSize(10);
+			Bundle bundle = parallelParser.parseResource(Bundle.class, ndjson.toString());
+
+			Set<String> ids = bundle.getEntry().stream()
+				.map(t -> t.getResource().getIdElement().getIdPart())
+				.collect(Collectors.toSet());
+			assertEquals(500, ids.size());
+			assertTrue(ids.contains("P0"));
+			assertTrue(ids.contains("P499"));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelDecodeInvalidLine() {
+		String ndjson = "{\"resourceType\":\"Patient\"}\n{\"resourceType\":\"Patient\"\n{\"resourceType\":\"Patient\"}";
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			NDJsonParser parallelParser = (NDJsonParser) ourCtx.newNDJsonParser();
+			parallelParser.setForkJoinPool(pool).setParallelBatchSize(1);
+			assertThatExceptionOfType(DataFormatException.class).isThrownBy(() -> {
+				parallelParser.parseResource(ndjson);
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelEncodeDecodeUsesParserConfiguration() {
+		BundleBuilder myBuilder = new BundleBuilder(ourCtx);
+		for (int i = 0; i < 20; i++) {
+			Patient p = new Patient();
+			p.setId("Patient/P" + i);
+			p.addName().setFamily("Family " + i);
+			myBuilder.addCollectionEntry(p);
+		}
+		IBaseResource myBundle = myBuilder.getBundle();
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			NDJsonParser parallelParser = (NDJsonParser) ourCtx.newNDJsonParser();
+			parallelParser.setForkJoinPool(pool).setParallelBatchSize(3);
+			parallelParser.setOmitResourceId(true);
+			String ndjson = parallelParser.encodeResourceToString(myBundle);
+			assertEquals(ourCtx.newNDJsonParser().setOmitResourceId(true).encodeResourceToString(myBundle), ndjson);
+			assertFalse(ndjson.contains("\"id\""));
+
+			String invalidNdjson = "{\"resourceType\":\"Patient\"}\n{\"resourceType\":\"Patient\",\"foo\":\"bar\"}";
+			parallelParser.setParserErrorHandler(new StrictErrorHandler());
+			assertThatExceptionOfType(DataFormatException.class).isThrownBy(() -> {
+				parallelParser.parseResource(invalidNdjson);
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testEncodeDecodeUsesParserConfiguration() {
+		Patient patient = new Patient();
+		patient.setId("Patient/P1");
+		patient.getText().setDivAsString("<div>Narrative</div>");
+		patient.addName().setFamily("Family");
+		BundleBuilder myBuilder = new BundleBuilder(ourCtx);
+		myBuilder.addCollectionEntry(patient);
+		IBaseResource myBundle = myBuilder.getBundle();
+
+		// Settings on the NDJSON parser apply to each line, also when working sequentially
+		String ndjson = ourCtx.newNDJsonParser().setSuppressNarratives(true).encodeResourceToString(myBundle);
+		assertFalse(ndjson.contains("Narrative"));
+		assertTrue(ndjson.contains("Family"));
+
+		String invalidNdjson = "{\"resourceType\":\"Patient\",\"foo\":\"bar\"}";
+		IParser parser = ourCtx.newNDJsonParser().setParserErrorHandler(new StrictErrorHandler());
+		assertThatExceptionOfType(DataFormatException.class).isThrownBy(() -> {
+			parser.parseResource(invalidNdjson);
+		});
+	}
+
 	@AfterAll
 	public static void afterClassClearContext() {
 		TestUtil.randomizeLocaleAndTimezone();
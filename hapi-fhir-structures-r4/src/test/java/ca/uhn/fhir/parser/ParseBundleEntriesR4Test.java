@@ -0,0 +1,162 @@
+package ca.uhn.fhir.parser;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.EncodingEnum;
+import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ParseBundleEntriesR4Test {
+	private static final FhirContext ourCtx = FhirContext.forR4Cached();
+
+	@ParameterizedTest
+	@EnumSource(value = EncodingEnum.class, names = {"JSON", "XML"})
+	public void testParseBundleEntries(EncodingEnum theEncoding) {
+		Bundle input = new Bundle();
+		input.setType(Bundle.BundleType.TRANSACTION);
+		input.setId("bundle-id");
+		input.getMeta().addProfile("http://profile");
+		for (int i = 0; i < 10; i++) {
+			Patient patient = new Patient();
+			patient.addName().setFamily("Family " + i).addGiven("Given").addGiven("Other");
+			input.addEntry()
+				.setFullUrl("urn:uuid:" + i)
+				.setResource(patient)
+				.getRequest()
+				.setMethod(Bundle.HTTPVerb.POST)
+				.setUrl("Patient");
+		}
+		input.addEntry()
+			.setResource(new Observation().setStatus(Observation.ObservationStatus.FINAL))
+			.getResponse()
+			.setStatus("201 Created");
+		input.addLink().setRelation("next").setUrl("http://next");
+
+		IParser parser = theEncoding.newParser(ourCtx);
+		String encoded = parser.encodeResourceToString(input);
+
+		List<Bundle.BundleEntryComponent> entries = new ArrayList<>();
+		Iterator<IBase> iter = theEncoding.newParser(ourCtx).parseBundleEntries(new StringReader(encoded));
+		while (iter.hasNext()) {
+			entries.add((Bundle.BundleEntryComponent) iter.next());
+		}
+		assertFalse(iter.hasNext());
+
+		assertEquals(11, entries.size());
+		for (int i = 0; i < 10; i++) {
+			Bundle.BundleEntryComponent entry = entries.get(i);
+			assertEquals("urn:uuid:" + i, entry.getFullUrl());
+			assertEquals("urn:uuid:" + i, entry.getResource().getId());
+			assertEquals("Family " + i, ((Patient) entry.getResource()).getNameFirstRep().getFamily());
+			assertEquals(2, ((Patient) entry.getResource()).getNameFirstRep().getGiven().size());
+			assertEquals(Bundle.HTTPVerb.POST, entry.getRequest().getMethod());
+			assertEquals("Patient", entry.getRequest().getUrl());
+		}
+		assertNull(entries.get(10).getFullUrl());
+		assertEquals(Observation.ObservationStatus.FINAL, ((Observation) entries.get(10).getResource()).getStatus());
+		assertEquals("201 Created", entries.get(10).getResponse().getStatus());
+
+		// Entries should be identical to the ones in a fully parsed Bundle
+		Bundle fullyParsed = theEncoding.newParser(ourCtx).parseResource(Bundle.class, encoded);
+		for (int i = 0; i < entries.size(); i++) {
+			assertEquals(
+				ourCtx.newJsonParser().encodeToString(fullyParsed.getEntry().get(i)),
+				ourCtx.newJsonParser().encodeToString(entries.get(i)));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = EncodingEnum.class, names = {"JSON", "XML"})
+	public void testParseBundleEntriesNoEntries(EncodingEnum theEncoding) {
+		Bundle input = new Bundle();
+		input.setType(Bundle.BundleType.SEARCHSET);
+		input.setTotal(0);
+		String encoded = theEncoding.newParser(ourCtx).encodeResourceToString(input);
+
+		Iterator<IBase> iter = theEncoding.newParser(ourCtx).parseBundleEntries(new StringReader(encoded));
+		assertFalse(iter.hasNext());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = EncodingEnum.class, names = {"JSON", "XML"})
+	public void testParseBundleEntriesNotABundle(EncodingEnum theEncoding) {
+		String encoded = theEncoding.newParser(ourCtx).encodeResourceToString(new Patient().setActive(true));
+
+		try {
+			Iterator<IBase> iter = theEncoding.newParser(ourCtx).parseBundleEntries(new StringReader(encoded));
+			iter.hasNext();
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage()).contains("Content is not a Bundle");
+		}
+	}
+
+	@Test
+	public void testParseBundleEntriesMissingResourceType() {
+		String encoded = "{\"entry\":[{\"resource\":{\"resourceType\":\"Patient\",\"active\":true}}]}";
+
+		Iterator<IBase> iter = ourCtx.newJsonParser().parseBundleEntries(new StringReader(encoded));
+		assertTrue(((Patient) ((Bundle.BundleEntryComponent) iter.next()).getResource()).getActive());
+		assertFalse(iter.hasNext());
+
+		IParser parser = ourCtx.newJsonParser().setParserErrorHandler(new StrictErrorHandler());
+		Iterator<IBase> strictIter = parser.parseBundleEntries(new StringReader(encoded));
+		strictIter.next();
+		try {
+			strictIter.hasNext();
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage()).contains("resourceType");
+		}
+	}
+
+	@Test
+	public void testParseBundleEntriesNDJson() {
+		String encoded = ourCtx.newJsonParser().encodeResourceToString(new Patient().setActive(true).setId("A")) + "\n"
+			+ ourCtx.newJsonParser().encodeResourceToString(new Observation().setId("B"));
+
+		Iterator<IBase> iter = ourCtx.newNDJsonParser().parseBundleEntries(new StringReader(encoded));
+		List<Bundle.BundleEntryComponent> entries = new ArrayList<>();
+		iter.forEachRemaining(t -> entries.add((Bundle.BundleEntryComponent) t));
+
+		assertEquals(2, entries.size());
+		assertEquals("Patient/A", entries.get(0).getResource().getIdElement().toUnqualifiedVersionless().getValue());
+		assertTrue(((Patient) entries.get(0).getResource()).getActive());
+		assertEquals("Observation/B", entries.get(1).getResource().getIdElement().toUnqualifiedVersionless().getValue());
+	}
+
+	@Test
+	public void testParseBundleEntriesParserWithoutStreamingSupport() {
+		Bundle input = new Bundle();
+		input.setType(Bundle.BundleType.COLLECTION);
+		input.addEntry().setFullUrl("http://example.com/Patient/A").setResource(new Patient().setActive(true));
+		input.addEntry().setFullUrl("http://example.com/Patient/B").setResource(new Patient().setActive(false));
+		String encoded = ourCtx.newRDFParser().encodeResourceToString(input);
+
+		// The RDF parser parses the whole Bundle and then iterates over its entries
+		Iterator<IBase> iter = ourCtx.newRDFParser().parseBundleEntries(new StringReader(encoded));
+		List<Bundle.BundleEntryComponent> entries = new ArrayList<>();
+		iter.forEachRemaining(t -> entries.add((Bundle.BundleEntryComponent) t));
+
+		assertEquals(2, entries.size());
+		assertEquals("http://example.com/Patient/A", entries.get(0).getFullUrl());
+		assertTrue(((Patient) entries.get(0).getResource()).getActive());
+		assertFalse(((Patient) entries.get(1).getResource()).getActive());
+	}
+}
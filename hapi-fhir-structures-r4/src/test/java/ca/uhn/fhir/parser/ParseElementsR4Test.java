@@ -0,0 +1,93 @@
+package ca.uhn.fhir.parser;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.EncodingEnum;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParseElementsR4Test {
+	private static final FhirContext ourCtx = FhirContext.forR4();
+
+	@AfterEach
+	public void after() {
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(false);
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = EncodingEnum.class, names = {"JSON", "XML"})
+	public void testParseElements(EncodingEnum theEncoding) {
+		String encoded = theEncoding.newParser(ourCtx).encodeResourceToString(createPatient());
+
+		Patient parsed = theEncoding.newParser(ourCtx)
+			.setParseElements(Set.of("Patient.name.family", "Observation.status"))
+			.parseResource(Patient.class, encoded);
+		assertPartiallyParsed(parsed);
+	}
+
+	@Test
+	public void testParseElementsStreamingJson() {
+		String encoded = ourCtx.newJsonParser().encodeResourceToString(createPatient());
+
+		ourCtx.getParserOptions().setJsonStreamingParsingEnabled(true);
+		Patient parsed = ourCtx.newJsonParser()
+			.setParseElements(Set.of("*.name"))
+			.parseResource(Patient.class, encoded);
+		assertPartiallyParsed(parsed);
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = EncodingEnum.class, names = {"JSON", "XML"})
+	public void testParseElementsChoiceType(EncodingEnum theEncoding) {
+		Observation input = new Observation();
+		input.setStatus(Observation.ObservationStatus.FINAL);
+		input.setValue(new Quantity().setValue(12).setUnit("mg"));
+		input.getCode().setText("Code");
+		String encoded = theEncoding.newParser(ourCtx).encodeResourceToString(input);
+
+		Observation parsed = theEncoding.newParser(ourCtx)
+			.setParseElements(Set.of("value"))
+			.parseResource(Observation.class, encoded);
+		assertEquals("mg", parsed.getValueQuantity().getUnit());
+		assertFalse(parsed.hasStatus());
+		assertFalse(parsed.hasCode());
+	}
+
+	private static Patient createPatient() {
+		Patient input = new Patient();
+		input.setId("Patient/123");
+		input.getMeta().setVersionId("2");
+		input.getText().setDivAsString("<div xmlns=\"http://www.w3.org/1999/xhtml\">Hello</div>");
+		input.addIdentifier().setSystem("http://system").setValue("value");
+		input.addName().setFamily("Simpson").addGiven("Homer");
+		input.getBirthDateElement().setValueAsString("1956-05-12");
+		input.getBirthDateElement().addExtension("http://foo", new Quantity(1));
+		input.setActive(true);
+		input.getContained().add(new Patient().setActive(false).setId("contained"));
+		input.addGeneralPractitioner().setReference("#contained");
+		return input;
+	}
+
+	private static void assertPartiallyParsed(Patient theParsed) {
+		assertEquals("123", theParsed.getIdElement().getIdPart());
+		assertEquals("2", theParsed.getMeta().getVersionId());
+		assertEquals("Simpson", theParsed.getNameFirstRep().getFamily());
+		assertEquals("Homer", theParsed.getNameFirstRep().getGivenAsSingleString());
+		assertTrue(theParsed.getText().isEmpty());
+		assertTrue(theParsed.getIdentifier().isEmpty());
+		assertFalse(theParsed.hasBirthDateElement());
+		assertFalse(theParsed.hasActive());
+		assertTrue(theParsed.getContained().isEmpty());
+		assertTrue(theParsed.getGeneralPractitioner().isEmpty());
+	}
+}
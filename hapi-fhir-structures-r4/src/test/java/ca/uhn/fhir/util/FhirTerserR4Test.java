@@ -19,6 +19,7 @@ import org.hl7.fhir.r4.model.DocumentReference;
 import org.hl7.fhir.r4.model.Enumeration;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.Extension;
+import org.hl7.fhir.r4.model.HumanName;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.Library;
@@ -858,6 +859,47 @@ public class FhirTerserR4Test {
 		assertEquals("nestedValue2", ((StringType) ((Extension) values.get(1)).getValue()).getValueAsString());
 	}
 
+	@Test
+	public void testCompiledPath() {
+		Patient p = new Patient();
+		p.setActive(true);
+		p.addName().setFamily("Simpson").addGiven("Homer").addGiven("Jay");
+		p.addExtension()
+			.setUrl("http://acme.org/parentExtension")
+			.addExtension()
+			.setUrl("http://acme.org/childExtension")
+			.setValue(new StringType("nestedValue"));
+
+		FhirTerser terser = myCtx.newTerser();
+
+		FhirTerser.CompiledPath given = terser.compile("Patient.name.given");
+		assertEquals("Patient.name.given", given.getPath());
+		List<StringType> givenValues = given.getValues(p, StringType.class);
+		assertThat(givenValues).extracting(StringType::getValue).containsExactly("Homer", "Jay");
+		// Paths are reusable
+		assertThat(given.getValues(new Patient().addName(new HumanName().addGiven("Marge")))).hasSize(1);
+		// Paths for a different resource type don't match
+		assertThat(given.getValues(new Practitioner().addName(new HumanName().addGiven("Nick")))).isEmpty();
+
+		FhirTerser.CompiledPath unqualified = terser.compile("name.family");
+		assertEquals("Simpson", unqualified.getSingleValueOrNull(p, StringType.class).getValue());
+		assertEquals("Nick", terser.compile("name.given")
+			.getSingleValueOrNull(new Practitioner().addName(new HumanName().addGiven("Nick")), StringType.class)
+			.getValue());
+
+		FhirTerser.CompiledPath extension = terser.compile("Patient.extension('http://acme.org/parentExtension').extension('http://acme.org/childExtension')");
+		List<Extension> extValues = extension.getValues(p, Extension.class);
+		assertThat(extValues).hasSize(1);
+		assertEquals("nestedValue", ((StringType) extValues.get(0).getValue()).getValueAsString());
+
+		FhirTerser.CompiledPath create = terser.compile("Patient.maritalStatus");
+		Patient empty = new Patient();
+		assertThat(create.getValues(empty)).isEmpty();
+		List<IBase> created = create.getValues(empty, IBase.class, true);
+		assertThat(created).hasSize(1);
+		assertThat(created.get(0)).isSameAs(empty.getMaritalStatus());
+	}
+
 	@Test
 	public void testGetValuesWithWantedClass() {
 		Patient p = new Patient();